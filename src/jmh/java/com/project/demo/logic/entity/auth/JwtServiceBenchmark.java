@@ -0,0 +1,88 @@
+package com.project.demo.logic.entity.auth;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous per-call key/parser construction ("legacy") with the shared
+ * signing context kept by {@link JwtService}, with and without the verified-token cache.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "3cfa76ef14937c1c0ea519f8fc057a80fcd04a7420f8e8bcd0a7567c272e007b";
+    private static final long EXPIRATION = 3_600_000L;
+
+    private JwtService jwtService;
+    private JwtService cachingJwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(SECRET, EXPIRATION, false, 0, 0);
+        cachingJwtService = new JwtService(SECRET, EXPIRATION, false, 10_000, 300);
+        userDetails = User.withUsername("student@mindmat.com").password("x").roles("USER").build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateLegacy() {
+        return Jwts.builder()
+                .setClaims(new HashMap<>())
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(legacySignInKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String generateShared() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims verifyLegacy() {
+        return Jwts.parserBuilder()
+                .setSigningKey(legacySignInKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public JwtClaims verifyShared() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtClaims verifyCached() {
+        return cachingJwtService.validateToken(token);
+    }
+
+    private static Key legacySignInKey() {
+        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.demo.logic.entity.score;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rates a fixed set of random submissions across games with and without per-game rules.
+ * Run with {@code -prof gc} to confirm {@link StarRatingEngine#rate} does not allocate.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StarRatingEngineBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private StarRatingEngine engine;
+    private long[] games;
+    private int[] rights;
+    private int[] wrongs;
+    private int[] seconds;
+    private int next;
+
+    @Setup
+    public void setup() {
+        StringBuilder rules = new StringBuilder();
+        for (int gameId = 1; gameId <= 50; gameId += 2) {
+            rules.append(gameId).append("=40/65/85@").append(60 + gameId).append(';');
+        }
+        engine = new StarRatingEngine("50/75/90", rules.toString());
+
+        SplittableRandom random = new SplittableRandom(42);
+        games = new long[SAMPLES];
+        rights = new int[SAMPLES];
+        wrongs = new int[SAMPLES];
+        seconds = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            games[i] = 1 + random.nextInt(60);
+            rights[i] = random.nextInt(21);
+            wrongs[i] = random.nextInt(21);
+            seconds[i] = random.nextInt(300);
+        }
+    }
+
+    @Benchmark
+    public int rate() {
+        int i = next++ & (SAMPLES - 1);
+        return engine.rate(games[i], rights[i], wrongs[i], seconds[i]);
+    }
+}
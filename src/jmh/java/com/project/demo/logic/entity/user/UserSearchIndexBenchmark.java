@@ -0,0 +1,137 @@
+package com.project.demo.logic.entity.user;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trigram index versus the full scan that a multi-term {@code LIKE %t%} query over name,
+ * lastname and email amounts to, over 100k synthetic users. The scan runs in memory here, so
+ * it is a lower bound for the query.
+ *
+ * <pre>./gradlew jmh -Pjmh.includes=UserSearchIndexBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserSearchIndexBenchmark {
+    private static final int LIMIT = 20;
+    private static final String[] NAMES = {"Sofía", "Mateo", "Valentina", "Santiago", "Camila", "Sebastián",
+            "Isabella", "Nicolás", "Mariana", "Daniel", "Lucía", "Gabriel", "Daniela", "Andrés", "Fernanda"};
+    private static final String[] LASTNAMES = {"Rodríguez", "Jiménez", "Vargas", "Mora", "Rojas", "Solano",
+            "Araya", "Chaves", "Quesada", "Castro", "Alvarado", "Herrera", "Montero", "Ramírez", "Brenes"};
+
+    @Param({"100000"})
+    private int users;
+
+    @Param({"val", "rodri", "mora ca", "zz"})
+    private String query;
+
+    private UserSearchIndex index;
+    private List<Row> rows;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new UserSearchIndex(null);
+        rows = new ArrayList<>(users);
+        for (long id = 1; id <= users; id++) {
+            String name = NAMES[random.nextInt(NAMES.length)] + (random.nextInt(4) == 0 ? " " + NAMES[random.nextInt(NAMES.length)] : "");
+            String lastname = LASTNAMES[random.nextInt(LASTNAMES.length)] + " " + LASTNAMES[random.nextInt(LASTNAMES.length)];
+            UserSearchHit hit = new UserSearchHit(id, name, lastname, "student" + id + "@mindmat.com", 1);
+            index.put(hit);
+            rows.add(new Row(hit));
+        }
+    }
+
+    @Benchmark
+    public List<UserSearchHit> trigramIndex() {
+        return index.search(query, LIMIT);
+    }
+
+    /**
+     * Same predicate and ranking as the index: every term must appear in name, lastname or
+     * email, then the best {@code LIMIT} rows by score. Columns are normalized once in setup, as
+     * an accent-insensitive collation would, so only the per-row matching is measured.
+     */
+    @Benchmark
+    public List<UserSearchHit> likeScan() {
+        String[] terms = UserSearchIndex.normalize(query).split(" ");
+        PriorityQueue<Row> top = new PriorityQueue<>(LIMIT + 1, Row.WORST_FIRST);
+        for (Row row : rows) {
+            int score = 0;
+            for (String term : terms) {
+                int termScore = Math.max(Math.max(fieldScore(row.name, term, 100), fieldScore(row.lastname, term, 100)),
+                        fieldScore(row.email, term, 50));
+                if (termScore == 0) {
+                    score = 0;
+                    break;
+                }
+                score += termScore;
+            }
+            if (score == 0) {
+                continue;
+            }
+            row.score = score;
+            if (top.size() < LIMIT) {
+                top.add(row);
+            } else if (Row.WORST_FIRST.compare(row, top.peek()) > 0) {
+                top.poll();
+                top.add(row);
+            }
+        }
+        List<UserSearchHit> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().hit);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static int fieldScore(String field, String term, int weight) {
+        int at = field.indexOf(term);
+        if (at < 0) {
+            return 0;
+        }
+        if (at == 0) {
+            return field.length() == term.length() ? weight : weight * 6 / 10;
+        }
+        boolean wordStart = !Character.isLetterOrDigit(field.charAt(at - 1));
+        return wordStart ? weight * 4 / 10 : weight * 2 / 10;
+    }
+
+    private static final class Row {
+        private static final Comparator<Row> WORST_FIRST = Comparator
+                .comparingInt((Row r) -> r.score)
+                .thenComparing(Comparator.comparingInt((Row r) -> r.length).reversed())
+                .thenComparing(Comparator.comparingLong((Row r) -> r.hit.getId()).reversed());
+
+        private final UserSearchHit hit;
+        private final String name;
+        private final String lastname;
+        private final String email;
+        private final int length;
+        private int score;
+
+        private Row(UserSearchHit hit) {
+            this.hit = hit;
+            this.name = UserSearchIndex.normalize(hit.getName());
+            this.lastname = UserSearchIndex.normalize(hit.getLastname());
+            this.email = UserSearchIndex.normalize(hit.getEmail());
+            this.length = name.length() + lastname.length();
+        }
+    }
+}
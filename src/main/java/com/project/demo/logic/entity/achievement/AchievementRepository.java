@@ -1,4 +1,6 @@
 package com.project.demo.logic.entity.achievement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,5 +12,9 @@ import java.util.List;
 public interface AchievementRepository extends JpaRepository<Achievement, Long> {
     @Query("SELECT a FROM Achievement a JOIN UserAchievement ua ON a.id = ua.achievement.id WHERE ua.user.id = :userId")
     List<Achievement> findAchievementsByUserId(@Param("userId") Long userId);
-}
 
+    @Query("SELECT a FROM Achievement a")
+    Slice<Achievement> findSliceBy(Pageable pageable);
+
+    List<Achievement> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
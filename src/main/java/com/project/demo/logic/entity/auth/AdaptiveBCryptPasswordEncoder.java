@@ -0,0 +1,71 @@
+package com.project.demo.logic.entity.auth;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose cost can be picked at startup from a latency target. Any stored
+ * hash with a different cost, higher or lower, is reported by {@link #upgradeEncoding}
+ * so it gets rehashed after the next successful login.
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Measures BCrypt on the current hardware and returns the cost whose hashing time is
+     * closest to {@code targetMillis}, bounded by {@code minCost} and {@code maxCost}.
+     */
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        new BCryptPasswordEncoder(minCost).encode(CALIBRATION_PASSWORD);
+
+        int bestCost = minCost;
+        long bestDistance = Long.MAX_VALUE;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long elapsed = measure(cost);
+            long distance = Math.abs(elapsed - targetMillis);
+            if (distance < bestDistance) {
+                bestCost = cost;
+                bestDistance = distance;
+            }
+            // Each extra round doubles the time, so nothing above this can get closer
+            if (elapsed >= targetMillis) {
+                break;
+            }
+        }
+        return bestCost;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return false;
+        }
+        return Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        encoder.encode(CALIBRATION_PASSWORD);
+        return (System.nanoTime() - start) / 2 / 1_000_000;
+    }
+}
@@ -2,6 +2,7 @@ package com.project.demo.logic.entity.auth;
 
 import com.project.demo.logic.entity.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,7 +11,7 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class ApplicationConfiguration {
@@ -18,19 +19,38 @@ public class ApplicationConfiguration {
     @Autowired
     private final UserRepository userRepository;
 
-    public ApplicationConfiguration(UserRepository userRepository) {
+    private final PrincipalCache principalCache;
+
+    public ApplicationConfiguration(UserRepository userRepository, PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Bean
     UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> principalCache.get(username, userRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
     @Bean
-    BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.bcrypt.cost:0}") int cost,
+            @Value("${security.bcrypt.target-millis:250}") long targetMillis,
+            @Value("${security.bcrypt.min-cost:10}") int minCost,
+            @Value("${security.bcrypt.max-cost:14}") int maxCost,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:10000}") long timeoutMillis,
+            @Value("${security.password-hashing.bulk-permits:0}") int bulkPermits
+    ) {
+        if (cost <= 0) {
+            cost = AdaptiveBCryptPasswordEncoder.calibrate(targetMillis, minCost, maxCost);
+            System.out.println("BCrypt cost calibrated to " + cost + " for a " + targetMillis + " ms target");
+        }
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Por defecto las importaciones usan a lo sumo la mitad del pool
+        int bulk = bulkPermits > 0 ? bulkPermits : Math.max(1, poolSize / 2);
+        return new BoundedPasswordEncoder(new AdaptiveBCryptPasswordEncoder(cost), poolSize, queueCapacity, timeoutMillis, bulk);
     }
 
     @Bean
@@ -39,11 +59,13 @@ public class ApplicationConfiguration {
     }
 
     @Bean
-    AuthenticationProvider authenticationProvider() {
+    AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
-        authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        // Login always checks the password against the stored hash, never a cached copy
+        authProvider.setUserDetailsService(username -> userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
+        authProvider.setPasswordEncoder(passwordEncoder);
 
         return authProvider;
     }
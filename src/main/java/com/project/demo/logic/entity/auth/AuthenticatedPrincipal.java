@@ -0,0 +1,17 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.entity.rol.RoleEnum;
+
+/**
+ * What controllers may rely on from {@code authentication.getPrincipal()}, whether it is a
+ * full {@link com.project.demo.logic.entity.user.User} or a {@link ClaimsPrincipal}.
+ */
+public interface AuthenticatedPrincipal {
+    Long getId();
+
+    String getEmail();
+
+    RoleEnum getRoleName();
+
+    Integer getActive();
+}
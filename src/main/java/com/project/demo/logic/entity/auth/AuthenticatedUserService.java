@@ -0,0 +1,66 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the current principal for controllers in both authentication modes. In the
+ * default mode the principal already is a {@link User}; in claims-only mode the entity is
+ * only loaded by callers that actually need the full row.
+ */
+@Service
+public class AuthenticatedUserService {
+    private final UserRepository userRepository;
+
+    public AuthenticatedUserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public AuthenticatedPrincipal getPrincipal(Authentication authentication) {
+        return (AuthenticatedPrincipal) authentication.getPrincipal();
+    }
+
+    public User loadUser(Authentication authentication) {
+        AuthenticatedPrincipal principal = getPrincipal(authentication);
+        if (principal instanceof User user) {
+            return user;
+        }
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    /**
+     * Uninitialized JPA reference, enough to set a foreign key without a SELECT.
+     */
+    public User getReference(Authentication authentication) {
+        AuthenticatedPrincipal principal = getPrincipal(authentication);
+        if (principal instanceof User user) {
+            return user;
+        }
+        return userRepository.getReferenceById(principal.getId());
+    }
+
+    /**
+     * Detached user carrying only what the token knows, for responses that embed the
+     * caller without needing the stored profile.
+     */
+    public User toDetachedUser(Authentication authentication) {
+        AuthenticatedPrincipal principal = getPrincipal(authentication);
+        if (principal instanceof User user) {
+            return user;
+        }
+        Role role = new Role();
+        role.setName(principal.getRoleName());
+
+        User user = new User();
+        user.setId(principal.getId());
+        user.setEmail(principal.getEmail());
+        user.setActive(principal.getActive());
+        user.setRole(role);
+        return user;
+    }
+}
@@ -2,39 +2,68 @@ package com.project.demo.logic.entity.auth;
 
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class AuthenticationService {
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
 
-    private final AuthenticationManager authenticationManager;
+    private volatile String unknownUserHash;
 
     public AuthenticationService(
             UserRepository userRepository,
-            AuthenticationManager authenticationManager,
             PasswordEncoder passwordEncoder
     ) {
-        this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
     }
 
-
+    /**
+     * Loads the user once, checks the password and returns that same entity so the caller
+     * can build the token and the response without querying again. Deactivated users are
+     * rejected before the password check, so revoking their tokens cannot be undone by logging in.
+     */
     public User authenticate(User input) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        input.getEmail(),
-                        input.getPassword()
-                )
-        );
-
-        return userRepository.findByEmail(input.getEmail())
-                .orElseThrow();
+        if (input.getEmail() == null || input.getPassword() == null) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        Optional<User> foundUser = userRepository.findByEmail(input.getEmail());
+
+        if (foundUser.isEmpty()) {
+            // Misma cantidad de trabajo que un login real para no revelar qué correos existen
+            passwordEncoder.matches(input.getPassword(), getUnknownUserHash());
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        User user = foundUser.get();
+        if (user.getActive() != null && user.getActive() == 0) {
+            throw new DisabledException("User is inactive");
+        }
+        if (!passwordEncoder.matches(input.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        // El costo de BCrypt se calibra al arrancar; rehacer el hash si el guardado usa otro
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(input.getPassword()));
+            userRepository.save(user);
+        }
+
+        return user;
+    }
+
+    private String getUnknownUserHash() {
+        if (unknownUserHash == null) {
+            unknownUserHash = passwordEncoder.encode("userNotFoundPassword");
+        }
+        return unknownUserHash;
     }
 }
@@ -0,0 +1,199 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.exceptions.ServiceUnavailableException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the delegate encoder on a fixed, separately sized pool so a burst of logins cannot
+ * take every core away from the other endpoints. When the pool and its queue are full the
+ * call fails fast with a {@link ServiceUnavailableException} (HTTP 503).
+ *
+ * <p>Bulk jobs such as the CSV import hash on the same pool through
+ * {@link #encodeInBackground(CharSequence)}, limited to {@code bulkPermits} hashes queued or
+ * running at once, so a large import cannot take the cores that logins need.</p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final int bulkLimit;
+    private final Semaphore bulkPermits;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis,
+                                  int bulkPermits) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        this.bulkLimit = Math.max(1, Math.min(bulkPermits, threads));
+        this.bulkPermits = new Semaphore(bulkLimit);
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashes on the shared pool for a bulk job. Blocks while the job already has
+     * {@code bulkPermits} hashes in flight or while logins fill the queue, instead of failing
+     * with 503 as interactive calls do.
+     */
+    public Future<String> encodeInBackground(CharSequence rawPassword) throws InterruptedException {
+        bulkPermits.acquire();
+        long submittedAt = System.nanoTime();
+        FutureTask<String> task = new FutureTask<>(() -> {
+            long startedAt = System.nanoTime();
+            try {
+                return delegate.encode(rawPassword);
+            } finally {
+                record(startedAt - submittedAt, System.nanoTime() - startedAt);
+            }
+        }) {
+            @Override
+            protected void done() {
+                // También al cancelarse antes de empezar
+                bulkPermits.release();
+            }
+        };
+        while (true) {
+            try {
+                executor.execute(task);
+                return task;
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    bulkPermits.release();
+                    throw new ServiceUnavailableException("Password hashing is shut down");
+                }
+            }
+            try {
+                // La cola está llena de logins: el trabajo masivo espera su turno
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                bulkPermits.release();
+                throw e;
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long count = completed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        stats.put("completed", count);
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        stats.put("bulkInFlight", bulkLimit - bulkPermits.availablePermits());
+        stats.put("bulkPermits", bulkLimit);
+        stats.put("avgQueueWaitMillis", count == 0 ? 0 : queueWaitNanos.sum() / count / 1_000_000.0);
+        stats.put("maxQueueWaitMillis", maxQueueWaitNanos.get() / 1_000_000.0);
+        stats.put("avgHashMillis", count == 0 ? 0 : hashNanos.sum() / count / 1_000_000.0);
+        stats.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    record(startedAt - submittedAt, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceUnavailableException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void record(long waitNanos, long workNanos) {
+        completed.increment();
+        queueWaitNanos.add(waitNanos);
+        hashNanos.add(workNanos);
+        maxQueueWaitNanos.accumulate(waitNanos);
+        maxHashNanos.accumulate(workNanos);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
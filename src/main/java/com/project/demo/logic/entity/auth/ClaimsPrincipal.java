@@ -0,0 +1,61 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.entity.rol.RoleEnum;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable principal built from verified token claims, used when
+ * {@code security.jwt.claims-only} is enabled so no user lookup runs per request.
+ */
+public final class ClaimsPrincipal implements AuthenticatedPrincipal {
+    private final Long id;
+    private final String email;
+    private final RoleEnum roleName;
+    private final Integer active;
+    private final List<GrantedAuthority> authorities;
+
+    public ClaimsPrincipal(Long id, String email, RoleEnum roleName, Integer active) {
+        this.id = id;
+        this.email = email;
+        this.roleName = roleName;
+        this.active = active;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + roleName));
+    }
+
+    static ClaimsPrincipal from(JwtClaims claims) {
+        return new ClaimsPrincipal(claims.getUserId(), claims.getSubject(), claims.getRole(), claims.getActive());
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public RoleEnum getRoleName() {
+        return roleName;
+    }
+
+    @Override
+    public Integer getActive() {
+        return active;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
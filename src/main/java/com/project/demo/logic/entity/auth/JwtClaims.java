@@ -0,0 +1,77 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.entity.rol.RoleEnum;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Verified view of a JWT body, produced once per request by {@link JwtService#validateToken(String)}.
+ */
+public final class JwtClaims {
+    static final String USER_ID = "uid";
+    static final String ROLE = "role";
+    static final String ACTIVE = "active";
+
+    private final String tokenId;
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Long userId;
+    private final RoleEnum role;
+    private final Integer active;
+
+    JwtClaims(Claims claims) {
+        this.tokenId = claims.getId();
+        this.subject = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+
+        Number uid = claims.get(USER_ID, Number.class);
+        String roleName = claims.get(ROLE, String.class);
+        Number activeFlag = claims.get(ACTIVE, Number.class);
+        this.userId = uid != null ? uid.longValue() : null;
+        this.role = roleName != null ? RoleEnum.valueOf(roleName) : null;
+        this.active = activeFlag != null ? activeFlag.intValue() : null;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public RoleEnum getRole() {
+        return role;
+    }
+
+    public Integer getActive() {
+        return active;
+    }
+
+    /**
+     * True when the token was issued in claims-only mode and carries enough to build a
+     * {@link ClaimsPrincipal}.
+     */
+    public boolean hasPrincipalClaims() {
+        return subject != null && userId != null && role != null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -1,14 +1,22 @@
 package com.project.demo.logic.entity.auth;
 
+import com.project.demo.logic.cache.BoundedTtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -17,11 +25,32 @@ import org.springframework.stereotype.Service;
 
 @Service
 public class JwtService {
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
+    private final AtomicReference<SigningContext> signingContext = new AtomicReference<>();
 
-    @Value("${security.jwt.expiration-time}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+
+    private final boolean claimsOnly;
+
+    /**
+     * Already verified tokens keyed by the SHA-256 of the compact token, so a repeated
+     * Bearer token skips the HMAC check and JSON parsing. {@code null} when disabled.
+     */
+    private final BoundedTtlCache<String, JwtClaims> verifiedTokens;
+
+    public JwtService(
+            @Value("${security.jwt.secret-key}") String secretKey,
+            @Value("${security.jwt.expiration-time}") long jwtExpiration,
+            @Value("${security.jwt.claims-only:false}") boolean claimsOnly,
+            @Value("${security.jwt.token-cache.max-size:10000}") int tokenCacheSize,
+            @Value("${security.jwt.token-cache.ttl-seconds:300}") long tokenCacheTtlSeconds
+    ) {
+        this.jwtExpiration = jwtExpiration;
+        this.claimsOnly = claimsOnly;
+        this.verifiedTokens = tokenCacheSize > 0
+                ? new BoundedTtlCache<>(tokenCacheSize, tokenCacheTtlSeconds * 1000)
+                : null;
+        this.signingContext.set(SigningContext.fromBase64(secretKey));
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -33,7 +62,13 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> extraClaims = new HashMap<>();
+        if (claimsOnly && userDetails instanceof AuthenticatedPrincipal principal) {
+            extraClaims.put(JwtClaims.USER_ID, principal.getId());
+            extraClaims.put(JwtClaims.ROLE, principal.getRoleName().name());
+            extraClaims.put(JwtClaims.ACTIVE, principal.getActive());
+        }
+        return generateToken(extraClaims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -44,45 +79,117 @@ public class JwtService {
         return jwtExpiration;
     }
 
+    public boolean isClaimsOnly() {
+        return claimsOnly;
+    }
+
+    /**
+     * Swaps the signing key and its parser in one step. Tokens signed with the previous
+     * key stop validating as soon as this returns.
+     */
+    public void rotateKey(String base64SecretKey) {
+        signingContext.set(SigningContext.fromBase64(base64SecretKey));
+        evictAllTokens();
+    }
+
+    /**
+     * Revocation hook: the next use of {@code token} goes through full verification again.
+     */
+    public void evictToken(String token) {
+        if (verifiedTokens != null) {
+            verifiedTokens.invalidate(digest(token));
+        }
+    }
+
+    public void evictAllTokens() {
+        if (verifiedTokens != null) {
+            verifiedTokens.invalidateAll();
+        }
+    }
+
+    public Map<String, Object> tokenCacheStats() {
+        return verifiedTokens != null ? verifiedTokens.stats() : Map.of("enabled", false);
+    }
+
     private String buildToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails,
             long expiration
     ) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signingContext.get().key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Verifies the signature and parses the body a single time. Callers should reuse the
+     * returned claims instead of calling the {@code extract*} helpers again.
+     */
+    public JwtClaims validateToken(String token) {
+        if (verifiedTokens == null) {
+            return new JwtClaims(extractAllClaims(token));
+        }
+
+        String key = digest(token);
+        JwtClaims claims = verifiedTokens.get(key);
+        if (claims == null || claims.isExpired()) {
+            // parseClaimsJws rechaza firmas inválidas y tokens expirados antes de cachear
+            claims = new JwtClaims(extractAllClaims(token));
+            long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+            verifiedTokens.put(key, claims, expiresAt);
+        }
+        return claims;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(JwtClaims claims, UserDetails userDetails) {
+        return claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !claims.isExpired();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(validateToken(token), userDetails);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return signingContext.get().parser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decoded key plus the parser bound to it. The parser built by jjwt is immutable and
+     * thread-safe, so a single instance is shared by every request.
+     */
+    private static final class SigningContext {
+        private final Key key;
+        private final JwtParser parser;
+
+        private SigningContext(Key key) {
+            this.key = key;
+            this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        }
+
+        static SigningContext fromBase64(String secretKey) {
+            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+            return new SigningContext(Keys.hmacShaKeyFor(keyBytes));
+        }
     }
 }
@@ -0,0 +1,61 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.cache.BoundedTtlCache;
+import com.project.demo.logic.entity.user.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caches the users resolved by the JWT filter, keyed by email. Every read returns a fresh
+ * copy so controllers that mutate their principal never touch the cached instance.
+ */
+@Component
+public class PrincipalCache {
+    private final BoundedTtlCache<String, User> cache;
+
+    public PrincipalCache(
+            @Value("${security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        User cached = cache.get(email, key -> loader.apply(key).orElse(null));
+        return Optional.ofNullable(cached).map(PrincipalCache::copyOf);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    private static User copyOf(User source) {
+        User copy = new User();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setLastname(source.getLastname());
+        copy.setEmail(source.getEmail());
+        copy.setActive(source.getActive());
+        copy.setAvatarId(source.getAvatarId());
+        copy.setPassword(source.getPassword());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setVersion(source.getVersion());
+        copy.setRole(source.getRole());
+        return copy;
+    }
+}
@@ -3,12 +3,20 @@ package com.project.demo.logic.entity.category;
 import com.project.demo.logic.entity.order.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
-}
\ No newline at end of file
+
+    @Query("SELECT c FROM Category c")
+    Slice<Category> findSliceBy(Pageable pageable);
+
+    List<Category> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
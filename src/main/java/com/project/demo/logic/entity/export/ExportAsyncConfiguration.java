@@ -0,0 +1,25 @@
+package com.project.demo.logic.entity.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Exports are written by a {@code StreamingResponseBody}, which runs under the MVC async timeout
+ * (the container default is 30 s). Exports are the only async endpoints in the app, so the
+ * default is raised to {@code export.timeout-ms} to let large exports finish.
+ */
+@Configuration
+public class ExportAsyncConfiguration implements WebMvcConfigurer {
+    private final long timeoutMillis;
+
+    public ExportAsyncConfiguration(@Value("${export.timeout-ms:1800000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(timeoutMillis);
+    }
+}
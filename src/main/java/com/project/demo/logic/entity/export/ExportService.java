@@ -0,0 +1,145 @@
+package com.project.demo.logic.entity.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Constant-memory exports. Each export is a scalar (DTO) projection read through a
+ * forward-only result stream with {@code export.fetch-size}, inside a read-only transaction
+ * opened on the response thread, and written row by row. No entities are loaded, so the
+ * persistence context stays empty however many rows go out.
+ * <p>
+ * MySQL Connector/J only streams with a positive fetch size when {@code useCursorFetch=true}
+ * is set on the JDBC URL, and otherwise buffers the whole result. The driver is checked at
+ * startup: without cursor fetch the fetch size is switched to {@code Integer.MIN_VALUE}, which
+ * makes Connector/J stream row by row. MariaDB Connector/J streams with any positive size.
+ */
+@Service
+public class ExportService {
+    private static final String[] USER_COLUMNS =
+            {"id", "name", "lastname", "email", "active", "avatarId", "role", "createdAt"};
+    private static final String[] SCORE_COLUMNS =
+            {"id", "userId", "email", "gameId", "gameName", "rightAnswers", "wrongAnswers", "timeTaken", "stars", "obtainedAt"};
+    private static final String[] ROSTER_COLUMNS =
+            {"id", "name", "lastname", "email", "active", "avatarId"};
+
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory;
+    private final int fetchSize;
+
+    private volatile int effectiveFetchSize;
+
+    public ExportService(
+            EntityManager entityManager,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${export.fetch-size:1000}") int fetchSize
+    ) {
+        this.entityManager = entityManager;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+        this.fetchSize = fetchSize;
+        this.effectiveFetchSize = fetchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkStreaming() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String url = String.valueOf(metaData.getURL());
+            if (metaData.getDriverName().startsWith("MySQL Connector") && fetchSize > 0
+                    && !url.toLowerCase().contains("usecursorfetch=true")) {
+                // Sin cursor fetch Connector/J cargaría todo el resultado en memoria
+                effectiveFetchSize = Integer.MIN_VALUE;
+                System.out.println("Export: useCursorFetch is not set, streaming row by row instead of fetch size " + fetchSize);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not check export streaming support", e);
+        }
+    }
+
+    public StreamingResponseBody exportUsers(ExportFormat format) {
+        return stream(format, USER_COLUMNS,
+                "SELECT u.id, u.name, u.lastname, u.email, u.active, u.avatarId, r.name, u.createdAt " +
+                        "FROM User u JOIN u.role r ORDER BY u.id",
+                Map.of());
+    }
+
+    public StreamingResponseBody exportScores(ExportFormat format, Long gameId, Long teamId, Date from, Date to) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT s.id, u.id, u.email, g.id, g.name, s.rightAnswers, s.wrongAnswers, s.timeTaken, s.stars, s.obtainedAt " +
+                        "FROM Score s JOIN s.game g LEFT JOIN s.user u WHERE 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (gameId != null) {
+            jpql.append(" AND g.id = :gameId");
+            params.put("gameId", gameId);
+        }
+        if (teamId != null) {
+            jpql.append(" AND u.id IN (SELECT st.id FROM Team t JOIN t.students st WHERE t.id = :teamId)");
+            params.put("teamId", teamId);
+        }
+        if (from != null) {
+            jpql.append(" AND s.obtainedAt >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" AND s.obtainedAt < :to");
+            params.put("to", to);
+        }
+        jpql.append(" ORDER BY s.id");
+        return stream(format, SCORE_COLUMNS, jpql.toString(), params);
+    }
+
+    public StreamingResponseBody exportTeamRoster(ExportFormat format, Long teamId) {
+        return stream(format, ROSTER_COLUMNS,
+                "SELECT st.id, st.name, st.lastname, st.email, st.active, st.avatarId " +
+                        "FROM Team t JOIN t.students st WHERE t.id = :teamId ORDER BY st.lastname, st.name, st.id",
+                Map.of("teamId", teamId));
+    }
+
+    private StreamingResponseBody stream(ExportFormat format, String[] columns, String jpql, Map<String, Object> params) {
+        return out -> {
+            ExportWriter writer = new ExportWriter(format, out, columns, jsonFactory);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class);
+                    params.forEach(query::setParameter);
+                    query.setHint(HibernateHints.HINT_FETCH_SIZE, effectiveFetchSize);
+                    query.setHint(HibernateHints.HINT_READ_ONLY, true);
+                    try (Stream<Object[]> rows = query.getResultStream()) {
+                        rows.forEach(writer::writeRow);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // El cliente cortó la descarga
+                throw e.getCause();
+            }
+            writer.finish();
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.demo.logic.entity.game;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of game ids and names, sorted by id, so hot paths do not run
+ * {@code findAll()} over the JOINED game hierarchy. Rebuilt at startup and after every write
+ * through {@code /games}; readers never lock. Games created from another instance are picked up
+ * by a periodic refresh ({@code games.catalog.refresh-interval-ms}) or by a miss, which reloads
+ * at most once per {@code games.catalog.miss-refresh-interval-ms}.
+ */
+@Component
+public class GameCatalog {
+    private final GameRepository gameRepository;
+    private final long missRefreshIntervalMillis;
+
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new String[0]);
+    private volatile long refreshes;
+    private volatile long lastRefreshMillis;
+    private volatile long missRefreshes;
+
+    public GameCatalog(
+            GameRepository gameRepository,
+            @Value("${games.catalog.miss-refresh-interval-ms:5000}") long missRefreshIntervalMillis
+    ) {
+        this.gameRepository = gameRepository;
+        this.missRefreshIntervalMillis = missRefreshIntervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${games.catalog.refresh-interval-ms:60000}",
+            initialDelayString = "${games.catalog.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        lastRefreshMillis = System.currentTimeMillis();
+        List<Object[]> rows = gameRepository.findCatalogEntries();
+        long[] ids = new long[rows.size()];
+        String[] names = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = (Long) rows.get(i)[0];
+            names[i] = (String) rows.get(i)[1];
+        }
+        snapshot = new Snapshot(ids, names);
+        refreshes++;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public boolean contains(long gameId) {
+        return snapshot.indexOf(gameId) >= 0;
+    }
+
+    /**
+     * Like {@link #contains(long)}, but on a miss reloads the catalog if the last reload is older
+     * than the miss interval, so a game created on another instance is found without letting
+     * requests for unknown ids trigger a query each.
+     */
+    public boolean containsOrRefresh(long gameId) {
+        if (contains(gameId)) {
+            return true;
+        }
+        synchronized (this) {
+            if (System.currentTimeMillis() - lastRefreshMillis >= missRefreshIntervalMillis) {
+                refresh();
+                missRefreshes++;
+            }
+        }
+        return contains(gameId);
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of("games", snapshot.size(), "refreshes", refreshes, "missRefreshes", missRefreshes);
+    }
+
+    public static final class Snapshot {
+        private final long[] ids;
+        private final String[] names;
+
+        Snapshot(long[] ids, String[] names) {
+            this.ids = ids;
+            this.names = names;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public long idAt(int index) {
+            return ids[index];
+        }
+
+        public String nameAt(int index) {
+            return names[index];
+        }
+
+        public int indexOf(long gameId) {
+            return Arrays.binarySearch(ids, gameId);
+        }
+    }
+}
@@ -9,4 +9,6 @@ import java.util.Date;
 import java.util.Optional;
 public interface GameRepository extends JpaRepository<Game, Long> {
 
+    @Query("SELECT g.id, g.name FROM Game g ORDER BY g.id")
+    List<Object[]> findCatalogEntries();
 }
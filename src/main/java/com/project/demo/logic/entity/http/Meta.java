@@ -1,5 +1,7 @@
 package com.project.demo.logic.entity.http;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class Meta {
     private String method;
     private String url;
@@ -12,6 +14,12 @@ public class Meta {
 
     private int pageSize;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     public Meta(String method, String url) {
         this.method = method;
         this.url = url;
@@ -64,4 +72,20 @@ public class Meta {
     public void setPageSize(int pageSize) {
         this.pageSize = pageSize;
     }
+
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(Boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
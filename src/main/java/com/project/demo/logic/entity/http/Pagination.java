@@ -0,0 +1,101 @@
+package com.project.demo.logic.entity.http;
+
+import com.project.demo.logic.exceptions.BadRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Shared paging for list endpoints. Three modes:
+ * <ul>
+ *     <li>offset with total count (default, {@code page}/{@code size});</li>
+ *     <li>offset without count ({@code count=false}), which reads a {@link Slice};</li>
+ *     <li>seek by id when a {@code cursor} is given (empty for the first page). Each page costs
+ *     O(size) however deep it is; the next cursor is returned in {@link Meta#getNextCursor()}.
+ *     Totals are only counted when {@code count=true} is asked for explicitly.</li>
+ * </ul>
+ */
+public final class Pagination {
+    private Pagination() {
+    }
+
+    public static <T> List<T> fetch(
+            int page,
+            int size,
+            String cursor,
+            Boolean count,
+            Meta meta,
+            Function<Pageable, Page<T>> pageQuery,
+            Function<Pageable, Slice<T>> sliceQuery,
+            BiFunction<Long, Pageable, List<T>> seekQuery,
+            LongSupplier counter,
+            ToLongFunction<T> idOf
+    ) {
+        if (size < 1) {
+            throw new BadRequestException("size must be positive");
+        }
+        meta.setPageSize(size);
+
+        if (cursor != null) {
+            // Se pide un elemento extra para saber si hay página siguiente sin contar
+            List<T> rows = seekQuery.apply(decodeCursor(cursor), PageRequest.of(0, size + 1));
+            boolean hasNext = rows.size() > size;
+            List<T> content = hasNext ? rows.subList(0, size) : rows;
+            meta.setHasNext(hasNext);
+            if (hasNext) {
+                meta.setNextCursor(encodeCursor(idOf.applyAsLong(content.get(size - 1))));
+            }
+            if (Boolean.TRUE.equals(count)) {
+                setTotals(meta, counter.getAsLong(), size);
+            }
+            return content;
+        }
+
+        if (page < 1) {
+            throw new BadRequestException("page must be 1 or greater");
+        }
+        Pageable pageable = PageRequest.of(page - 1, size);
+        meta.setPageNumber(page);
+
+        if (count == null || count) {
+            Page<T> result = pageQuery.apply(pageable);
+            meta.setTotalPages(result.getTotalPages());
+            meta.setTotalElements(result.getTotalElements());
+            return result.getContent();
+        }
+
+        Slice<T> result = sliceQuery.apply(pageable);
+        meta.setHasNext(result.hasNext());
+        return result.getContent();
+    }
+
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long decodeCursor(String cursor) {
+        if (cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static void setTotals(Meta meta, long totalElements, int size) {
+        meta.setTotalElements(totalElements);
+        meta.setTotalPages((int) ((totalElements + size - 1) / size));
+    }
+}
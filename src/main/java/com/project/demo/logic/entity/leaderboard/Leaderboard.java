@@ -0,0 +1,78 @@
+package com.project.demo.logic.entity.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One board: each user's current entry plus the {@link RankedTreap} that orders them.
+ * Game boards keep a user's best (stars, time); the global board accumulates stars.
+ */
+final class Leaderboard {
+    private final boolean timed;
+    private final RankedTreap treap = new RankedTreap();
+    private final Map<Long, long[]> entries = new HashMap<>();
+
+    Leaderboard(boolean timed) {
+        this.timed = timed;
+    }
+
+    /**
+     * Keeps the better of the current entry and (score, tiebreak).
+     *
+     * @return the previous score, -1 if the user had none, or {@code Long.MIN_VALUE} if nothing changed
+     */
+    synchronized long offer(long userId, long score, long tiebreak) {
+        long[] current = entries.get(userId);
+        if (current != null) {
+            if (current[0] > score || (current[0] == score && current[1] <= tiebreak)) {
+                return Long.MIN_VALUE;
+            }
+            treap.delete(current[0], current[1], userId);
+        }
+        treap.insert(score, tiebreak, userId);
+        entries.put(userId, new long[]{score, tiebreak});
+        return current == null ? -1 : current[0];
+    }
+
+    synchronized void add(long userId, long delta) {
+        long[] current = entries.get(userId);
+        long score = delta;
+        if (current != null) {
+            treap.delete(current[0], current[1], userId);
+            score += current[0];
+        }
+        treap.insert(score, 0, userId);
+        entries.put(userId, new long[]{score, 0});
+    }
+
+    synchronized int size() {
+        return treap.size();
+    }
+
+    synchronized List<LeaderboardEntry> top(int limit) {
+        return range(0, limit);
+    }
+
+    /**
+     * @return the user's entry followed by up to {@code around} entries on each side, or an
+     * empty list if the user is not on this board
+     */
+    synchronized List<LeaderboardEntry> around(long userId, int around) {
+        long[] current = entries.get(userId);
+        if (current == null) {
+            return List.of();
+        }
+        int rank = treap.rank(current[0], current[1], userId);
+        int from = Math.max(0, rank - around);
+        return range(from, rank - from + around + 1);
+    }
+
+    private List<LeaderboardEntry> range(int from, int count) {
+        List<LeaderboardEntry> result = new ArrayList<>(Math.max(0, Math.min(count, treap.size() - from)));
+        treap.range(from, count, (rank, userId, score, tiebreak) ->
+                result.add(new LeaderboardEntry(rank + 1, userId, score, timed ? (int) tiebreak : null)));
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.demo.logic.entity.leaderboard;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A ranked position. {@code rank} is 1-based; {@code timeTakenSeconds} is only set on game
+ * boards. Name and avatar are filled in by the controller.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LeaderboardEntry {
+    private final int rank;
+    private final long userId;
+    private final long stars;
+    private final Integer timeTakenSeconds;
+    private String name;
+    private String lastname;
+    private Integer avatarId;
+
+    public LeaderboardEntry(int rank, long userId, long stars, Integer timeTakenSeconds) {
+        this.rank = rank;
+        this.userId = userId;
+        this.stars = stars;
+        this.timeTakenSeconds = timeTakenSeconds;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getStars() {
+        return stars;
+    }
+
+    public Integer getTimeTakenSeconds() {
+        return timeTakenSeconds;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public Integer getAvatarId() {
+        return avatarId;
+    }
+
+    public void setProfile(String name, String lastname, Integer avatarId) {
+        this.name = name;
+        this.lastname = lastname;
+        this.avatarId = avatarId;
+    }
+}
@@ -0,0 +1,174 @@
+package com.project.demo.logic.entity.leaderboard;
+
+import com.project.demo.logic.exceptions.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * In-memory leaderboards: one per game, ranking each user's best score by stars and then by
+ * time taken, and a global one ranking the sum of a user's best stars over all games. Every
+ * score written by {@code ScoreIngestionService} is offered here; top-K, "my rank" and the
+ * neighbours around a user cost O(log n + k).
+ *
+ * <p>Boards are rebuilt on startup by scanning {@code score} in parallel over user-id ranges.
+ * Offers keep the better entry, so scores written while the scan runs are not lost and a scan
+ * can be repeated over a partly filled board. Until a scan completes, reads fail with 503; a
+ * failed scan is retried with exponential backoff ({@code leaderboard.rebuild-retry-ms} doubling
+ * up to {@code leaderboard.rebuild-retry-max-ms}).</p>
+ */
+@Service
+public class LeaderboardService {
+    private static final String SCAN_SQL = "SELECT user_id, game_id, stars, COALESCE(TIME_TO_SEC(time_taken), 0) "
+            + "FROM score WHERE user_id > ? AND user_id <= ? AND stars IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int rebuildThreads;
+    private final int chunkUsers;
+    private final int fetchSize;
+    private final long retryMillis;
+    private final long retryMaxMillis;
+
+    private final Map<Long, Leaderboard> games = new ConcurrentHashMap<>();
+    private final Leaderboard global = new Leaderboard(false);
+
+    private volatile boolean ready;
+    private volatile long rebuildMillis;
+    private volatile long scannedRows;
+    private volatile int failedRebuilds;
+    private volatile long nextRetryMillis;
+    private volatile String lastError;
+
+    public LeaderboardService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${leaderboard.rebuild-threads:4}") int rebuildThreads,
+            @Value("${leaderboard.rebuild-chunk-users:5000}") int chunkUsers,
+            @Value("${leaderboard.fetch-size:1000}") int fetchSize,
+            @Value("${leaderboard.rebuild-retry-ms:5000}") long retryMillis,
+            @Value("${leaderboard.rebuild-retry-max-ms:300000}") long retryMaxMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildThreads = Math.max(1, rebuildThreads);
+        this.chunkUsers = Math.max(1, chunkUsers);
+        this.fetchSize = fetchSize;
+        this.retryMillis = Math.max(1, retryMillis);
+        this.retryMaxMillis = Math.max(this.retryMillis, retryMaxMillis);
+    }
+
+    public void record(long userId, long gameId, int stars, int timeTakenSeconds) {
+        Leaderboard board = games.computeIfAbsent(gameId, id -> new Leaderboard(true));
+        long previous = board.offer(userId, stars, timeTakenSeconds);
+        if (previous == Long.MIN_VALUE) {
+            return;
+        }
+        long delta = stars - Math.max(0, previous);
+        if (delta > 0 || previous < 0) {
+            global.add(userId, delta);
+        }
+    }
+
+    public List<LeaderboardEntry> top(Long gameId, int limit) {
+        Leaderboard board = board(gameId);
+        return board == null ? List.of() : board.top(limit);
+    }
+
+    public List<LeaderboardEntry> around(Long gameId, long userId, int around) {
+        Leaderboard board = board(gameId);
+        return board == null ? List.of() : board.around(userId, around);
+    }
+
+    private Leaderboard board(Long gameId) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Leaderboards are still loading");
+        }
+        return gameId == null ? global : games.get(gameId);
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.rebuild-retry-check-ms:1000}")
+    public void retryRebuild() {
+        if (!ready && failedRebuilds > 0 && System.currentTimeMillis() >= nextRetryMillis) {
+            rebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (ready) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(rebuildThreads, runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long rows = 0;
+        try {
+            Long maxUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) FROM score", Long.class);
+            long last = maxUserId == null ? 0 : maxUserId;
+            List<Future<Long>> chunks = new ArrayList<>();
+            for (long from = 0; from < last; from += chunkUsers) {
+                long lower = from;
+                long upper = Math.min(last, from + chunkUsers);
+                chunks.add(pool.submit(() -> scan(lower, upper)));
+            }
+            for (Future<Long> chunk : chunks) {
+                rows += chunk.get();
+            }
+        } catch (Exception e) {
+            // Sin marcar ready: las lecturas siguen en 503 y el reintento vuelve a escanear todo
+            failedRebuilds++;
+            lastError = e.getMessage();
+            long delay = retryMillis << Math.min(failedRebuilds - 1, 16);
+            nextRetryMillis = System.currentTimeMillis() + Math.min(delay, retryMaxMillis);
+            System.out.println("Leaderboard rebuild failed (attempt " + failedRebuilds + "): " + e.getMessage());
+            return;
+        } finally {
+            pool.shutdownNow();
+        }
+        scannedRows = rows;
+        rebuildMillis = System.currentTimeMillis() - start;
+        lastError = null;
+        ready = true;
+        System.out.println("Leaderboards rebuilt from " + rows + " scores in " + rebuildMillis + " ms");
+    }
+
+    private long scan(long lowerExclusive, long upperInclusive) {
+        long[] count = new long[1];
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SCAN_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, lowerExclusive);
+            statement.setLong(2, upperInclusive);
+            return statement;
+        }, resultSet -> {
+            record(resultSet.getLong(1), resultSet.getLong(2), resultSet.getInt(3), resultSet.getInt(4));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("games", games.size());
+        stats.put("players", global.size());
+        stats.put("scannedRows", scannedRows);
+        stats.put("rebuildMillis", rebuildMillis);
+        stats.put("failedRebuilds", failedRebuilds);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+}
@@ -0,0 +1,150 @@
+package com.project.demo.logic.entity.leaderboard;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap ordered by score (descending), then tiebreak (ascending), then user id, with subtree
+ * sizes so rank and select are O(log n) expected. Not thread-safe; {@link Leaderboard} guards it.
+ */
+final class RankedTreap {
+
+    interface Visitor {
+        void visit(int rank, long userId, long score, long tiebreak);
+    }
+
+    private static final class Node {
+        final long score;
+        final long tiebreak;
+        final long userId;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long score, long tiebreak, long userId) {
+            this.score = score;
+            this.tiebreak = tiebreak;
+            this.userId = userId;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private Node root;
+    private Node splitLeft;
+    private Node splitRight;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(long score, long tiebreak, long userId) {
+        split(root, score, tiebreak, userId, false);
+        Node left = splitLeft;
+        Node right = splitRight;
+        root = merge(merge(left, new Node(score, tiebreak, userId)), right);
+    }
+
+    void delete(long score, long tiebreak, long userId) {
+        split(root, score, tiebreak, userId, false);
+        Node left = splitLeft;
+        split(splitRight, score, tiebreak, userId, true);
+        root = merge(left, splitRight);
+    }
+
+    /**
+     * @return number of entries ranked strictly before the given key (0-based rank)
+     */
+    int rank(long score, long tiebreak, long userId) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(node, score, tiebreak, userId) < 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Visits up to {@code count} entries in order starting at 0-based rank {@code from}.
+     */
+    void range(int from, int count, Visitor visitor) {
+        if (count > 0 && from < size()) {
+            range(root, 0, Math.max(0, from), Math.max(0, from) + count, visitor);
+        }
+    }
+
+    private static void range(Node node, int offset, int from, int to, Visitor visitor) {
+        if (node == null || offset >= to || offset + node.size <= from) {
+            return;
+        }
+        int own = offset + size(node.left);
+        range(node.left, offset, from, to, visitor);
+        if (own >= from && own < to) {
+            visitor.visit(own, node.userId, node.score, node.tiebreak);
+        }
+        range(node.right, own + 1, from, to, visitor);
+    }
+
+    /**
+     * Splits into nodes before the key and the rest; with {@code inclusive} the key itself
+     * goes to the left part. Results land in splitLeft / splitRight.
+     */
+    private void split(Node node, long score, long tiebreak, long userId, boolean inclusive) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        int cmp = compare(node, score, tiebreak, userId);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            split(node.right, score, tiebreak, userId, inclusive);
+            node.right = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(node.left, score, tiebreak, userId, inclusive);
+            node.left = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int compare(Node node, long score, long tiebreak, long userId) {
+        if (node.score != score) {
+            return node.score > score ? -1 : 1;
+        }
+        if (node.tiebreak != tiebreak) {
+            return Long.compare(node.tiebreak, tiebreak);
+        }
+        return Long.compare(node.userId, userId);
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.demo.logic.entity.mail_outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends queued mail in batches. A batch goes out through a single
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call, which reuses one SMTP connection
+ * for every message in it. Failed messages are retried with exponential backoff.
+ *
+ * <p>No transaction is held while talking to SMTP: a short transaction claims the batch by
+ * moving {@code next_attempt_at} forward by a lease ({@code mail.outbox.lease-ms}), the batch
+ * is sent, and a second short transaction deletes what was sent and reschedules the rest. If
+ * the instance dies mid-send, the rows become due again when the lease expires.</p>
+ */
+@Component
+public class MailOutboxDispatcher {
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int maxAttempts;
+    private final long leaseMillis;
+
+    public MailOutboxDispatcher(
+            MailOutboxRepository mailOutboxRepository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            @Value("${mail.outbox.batch-size:50}") int batchSize,
+            @Value("${mail.outbox.base-backoff-ms:5000}") long baseBackoffMillis,
+            @Value("${mail.outbox.max-backoff-ms:600000}") long maxBackoffMillis,
+            @Value("${mail.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${mail.outbox.lease-ms:300000}") long leaseMillis
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxAttempts = maxAttempts;
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        List<MailOutbox> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchFailure = e;
+            }
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+
+        Map<Object, Exception> failed = failures;
+        Exception failedBatch = batchFailure;
+        transactionTemplate.executeWithoutResult(status -> {
+            List<MailOutbox> sent = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                MailOutbox mail = batch.get(i);
+                Exception failure = failedBatch != null ? failedBatch : failed.get(messages[i]);
+                if (failure == null) {
+                    sent.add(mail);
+                } else {
+                    reschedule(mail, failure);
+                }
+            }
+            mailOutboxRepository.deleteAll(sent);
+        });
+    }
+
+    private List<MailOutbox> claim() {
+        Date now = new Date();
+        List<MailOutbox> batch = mailOutboxRepository.findDue(now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        // El lease saca las filas de findDue mientras se envían, sin mantener el bloqueo abierto
+        Date leaseEnd = new Date(now.getTime() + leaseMillis);
+        for (MailOutbox mail : batch) {
+            mail.setNextAttemptAt(leaseEnd);
+        }
+        mailOutboxRepository.saveAll(batch);
+        return batch;
+    }
+
+    private void reschedule(MailOutbox mail, Exception failure) {
+        int attempts = mail.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            System.out.println("Descartando correo " + mail.getId() + " para " + mail.getRecipient()
+                    + " después de " + attempts + " intentos: " + failure.getMessage());
+            mailOutboxRepository.delete(mail);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempts - 1, 20));
+        mail.setAttempts(attempts);
+        mail.setNextAttemptAt(new Date(System.currentTimeMillis() + backoff));
+        String error = String.valueOf(failure.getMessage());
+        mail.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        mailOutboxRepository.save(mail);
+    }
+
+    private static SimpleMailMessage toMessage(MailOutbox mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(mail.getRecipient());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+}
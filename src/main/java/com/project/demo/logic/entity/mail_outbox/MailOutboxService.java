@@ -0,0 +1,20 @@
+package com.project.demo.logic.entity.mail_outbox;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Queues outgoing mail in the {@code mail_outbox} table. The request only pays for the
+ * INSERT; {@link MailOutboxDispatcher} delivers it in the background.
+ */
+@Service
+public class MailOutboxService {
+    private final MailOutboxRepository mailOutboxRepository;
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository) {
+        this.mailOutboxRepository = mailOutboxRepository;
+    }
+
+    public MailOutbox enqueue(String recipient, String subject, String body) {
+        return mailOutboxRepository.save(new MailOutbox(recipient, subject, body));
+    }
+}
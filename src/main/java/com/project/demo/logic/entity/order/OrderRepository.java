@@ -2,6 +2,7 @@ package com.project.demo.logic.entity.order;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,4 +18,16 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // List<Order> getOrderByUserId(@Param("userId") Long userId);
 
     Page<Order> getOrderByUserId(Long id, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    @Query("SELECT o FROM Order o")
+    Slice<Order> findSliceBy(Pageable pageable);
+
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT o FROM Order o WHERE o.user.id = ?1")
+    Slice<Order> findSliceByUserId(Long userId, Pageable pageable);
+
+    List<Order> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Pageable pageable);
 }
@@ -0,0 +1,107 @@
+package com.project.demo.logic.entity.password_reset;
+
+import com.project.demo.logic.entity.mail_outbox.MailOutboxService;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Service
+public class PasswordResetService {
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final UserRepository userRepository;
+    private final MailOutboxService mailOutboxService;
+    private final PasswordEncoder passwordEncoder;
+    private final long ttlMillis;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public PasswordResetService(
+            PasswordResetTokenRepository passwordResetTokenRepository,
+            UserRepository userRepository,
+            MailOutboxService mailOutboxService,
+            PasswordEncoder passwordEncoder,
+            @Value("${security.password-reset.ttl-minutes:30}") long ttlMinutes
+    ) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.userRepository = userRepository;
+        this.mailOutboxService = mailOutboxService;
+        this.passwordEncoder = passwordEncoder;
+        this.ttlMillis = ttlMinutes * 60_000;
+    }
+
+    /**
+     * Replaces any pending token of the user with a new one and queues the reset mail, both
+     * in the same transaction.
+     */
+    @Transactional
+    public void requestReset(User user) {
+        byte[] randomBytes = new byte[32];
+        secureRandom.nextBytes(randomBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        passwordResetTokenRepository.deleteByUserId(user.getId());
+        passwordResetTokenRepository.save(new PasswordResetToken(
+                hash(token), user, new Date(System.currentTimeMillis() + ttlMillis)));
+
+        mailOutboxService.enqueue(
+                user.getEmail(),
+                "Recuperación de contraseña de aplicación MindMat",
+                "Estimado Usuario:\n\n"+
+                "Este correo es para cambiar tu contraseña en la aplicación MindMat.\n\n" +
+                        "Si solicitaste un cambio de contraseña, haz clic en el siguiente enlace para restablecerla:\n" +
+                        "http://localhost:4200/reset-password?token=" + token + "\n\n" +
+                        "Si no solicitaste este cambio, ignora este mensaje o ponte en contacto con el soporte.\n\n" +
+                        "Saludos,\n" +
+                        "El equipo de MindMat"
+        );
+    }
+
+    /**
+     * Sets the new password if {@code token} matches a pending, unexpired reset. The token is
+     * looked up by its hash through the unique index and is consumed either way.
+     *
+     * @return the updated user, or empty when the token is unknown or expired
+     */
+    @Transactional
+    public Optional<User> resetPassword(String token, String newPassword) {
+        if (token == null || newPassword == null) {
+            return Optional.empty();
+        }
+
+        Optional<PasswordResetToken> resetToken = passwordResetTokenRepository.findByTokenHash(hash(token));
+        if (resetToken.isEmpty()) {
+            return Optional.empty();
+        }
+
+        User user = resetToken.get().getUser();
+        boolean expired = resetToken.get().isExpired();
+        passwordResetTokenRepository.deleteByUserId(user.getId());
+        if (expired) {
+            return Optional.empty();
+        }
+
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(user);
+        return Optional.of(user);
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.demo.logic.entity.password_reset;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Deletes expired reset tokens in small chunks so the sweep never holds long locks on the
+ * table.
+ */
+@Component
+public class PasswordResetTokenSweeper {
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final int chunkSize;
+
+    public PasswordResetTokenSweeper(
+            PasswordResetTokenRepository passwordResetTokenRepository,
+            @Value("${security.password-reset.sweep-chunk-size:500}") int chunkSize
+    ) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${security.password-reset.sweep-interval-ms:600000}")
+    public void sweep() {
+        Date now = new Date();
+        int deleted;
+        do {
+            deleted = passwordResetTokenRepository.deleteExpired(now, chunkSize);
+        } while (deleted == chunkSize);
+    }
+}
@@ -1,5 +1,7 @@
 package com.project.demo.logic.entity.product;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -21,4 +23,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // Consulta para buscar productos por categoría
     List<Product> findByCategory_Name(String categoryName);
-}
\ No newline at end of file
+
+    @Query("SELECT p FROM Product p")
+    Slice<Product> findSliceBy(Pageable pageable);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -0,0 +1,163 @@
+package com.project.demo.logic.entity.rate_limit;
+
+import com.project.demo.logic.entity.auth.AuthenticatedPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route request budgets for the expensive endpoints. Runs right after
+ * {@link com.project.demo.logic.entity.auth.JwtAuthenticationFilter} so authenticated routes
+ * are keyed by user id; anonymous ones fall back to the client IP.
+ *
+ * <p>Login is keyed by IP only, so its budget is sized for a whole classroom behind one school
+ * NAT ({@code rate-limit.login.permits}, default 300 per minute); per-account guessing is already
+ * bounded by the BCrypt cost. When the app runs behind a reverse proxy, list the proxy addresses
+ * in {@code rate-limit.trusted-proxies}: for requests coming from them the client IP is the
+ * right-most {@code X-Forwarded-For} entry that is not itself a trusted proxy. The header is
+ * ignored for any other peer, so clients cannot pick their own key.</p>
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final int STRIPES = 16;
+
+    private final boolean enabled;
+    private final Set<String> trustedProxies;
+    private final List<Route> routes;
+
+    public RateLimitFilter(
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${rate-limit.trusted-proxies:}") Set<String> trustedProxies,
+            @Value("${rate-limit.login.permits:300}") int loginPermits,
+            @Value("${rate-limit.login.period-seconds:60}") long loginPeriodSeconds,
+            @Value("${rate-limit.score.permits:30}") int scorePermits,
+            @Value("${rate-limit.score.period-seconds:60}") long scorePeriodSeconds,
+            @Value("${rate-limit.mathleship.permits:20}") int mathleshipPermits,
+            @Value("${rate-limit.mathleship.period-seconds:60}") long mathleshipPeriodSeconds
+    ) {
+        this.enabled = enabled;
+        this.trustedProxies = trustedProxies;
+        this.routes = List.of(
+                new Route("login", "POST", "/auth/login", false,
+                        new RateLimiter(loginPermits, loginPeriodSeconds * 1000, maxKeys, STRIPES)),
+                new Route("score", "POST", "/score", true,
+                        new RateLimiter(scorePermits, scorePeriodSeconds * 1000, maxKeys, STRIPES)),
+                new Route("mathleship", "GET", "/api/mathleship/initialize", true,
+                        new RateLimiter(mathleshipPermits, mathleshipPeriodSeconds * 1000, maxKeys, STRIPES))
+        );
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Route route = enabled ? match(request) : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.limiter.tryAcquire(keyFor(request, route));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Too many requests");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        for (Route route : routes) {
+            route.limiter.evictIdle();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Route route : routes) {
+            stats.put(route.name, Map.of(
+                    "keys", route.limiter.size(),
+                    "rejected", route.limiter.getRejected(),
+                    "evictions", route.limiter.getEvictions()
+            ));
+        }
+        return stats;
+    }
+
+    private Route match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if (route.method.equals(request.getMethod()) && route.path.equals(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String keyFor(HttpServletRequest request, Route route) {
+        if (route.perUser) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedPrincipal principal
+                    && principal.getId() != null) {
+                return "u:" + principal.getId();
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || !trustedProxies.contains(remote)) {
+            return remote;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
+        }
+        return remote;
+    }
+
+    private static final class Route {
+        private final String name;
+        private final String method;
+        private final String path;
+        private final boolean perUser;
+        private final RateLimiter limiter;
+
+        private Route(String name, String method, String path, boolean perUser, RateLimiter limiter) {
+            this.name = name;
+            this.method = method;
+            this.path = path;
+            this.perUser = perUser;
+            this.limiter = limiter;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.demo.logic.entity.rate_limit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets keyed by an arbitrary string, implemented as GCRA: each bucket is a single
+ * {@link AtomicLong} holding its theoretical arrival time, updated with a CAS loop. Keys are
+ * spread over independently bounded stripes; a bucket whose arrival time has passed is full
+ * again and can be dropped without changing behaviour.
+ */
+public class RateLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeysPerStripe;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RateLimiter(int permits, long periodMillis, int maxKeys, int stripeCount) {
+        if (permits <= 0 || periodMillis <= 0) {
+            throw new IllegalArgumentException("permits and period must be positive");
+        }
+        this.emissionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis) / permits;
+        this.burstNanos = emissionIntervalNanos * permits;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / stripeCount);
+        @SuppressWarnings("unchecked")
+        ConcurrentHashMap<String, AtomicLong>[] maps = (ConcurrentHashMap<String, AtomicLong>[]) new ConcurrentHashMap<?, ?>[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            maps[i] = new ConcurrentHashMap<>();
+        }
+        this.stripes = maps;
+    }
+
+    /**
+     * Takes one permit for {@code key}.
+     *
+     * @return 0 when the request is allowed, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = bucketFor(key, now);
+
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long waitNanos = newTat - burstNanos - now;
+            if (waitNanos > 0) {
+                rejected.increment();
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops every bucket that has refilled completely.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evictIdle(stripe, now);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[(key.hashCode() & 0x7fffffff) % stripes.length];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (stripe.size() >= maxKeysPerStripe) {
+            evictIdle(stripe, now);
+            // Si la franja sigue llena, se sacrifica una entrada cualquiera para mantener el límite
+            Iterator<String> keys = stripe.keySet().iterator();
+            while (stripe.size() >= maxKeysPerStripe && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private void evictIdle(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        Iterator<Map.Entry<String, AtomicLong>> it = stripe.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().get() - now <= 0) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
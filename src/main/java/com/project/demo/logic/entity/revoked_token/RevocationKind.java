@@ -0,0 +1,8 @@
+package com.project.demo.logic.entity.revoked_token;
+
+public enum RevocationKind {
+    /** A single token, identified by its {@code jti}. */
+    TOKEN,
+    /** Every token of a subject (email) issued up to the revocation time. */
+    SUBJECT
+}
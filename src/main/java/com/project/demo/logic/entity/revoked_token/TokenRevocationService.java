@@ -0,0 +1,142 @@
+package com.project.demo.logic.entity.revoked_token;
+
+import com.project.demo.logic.cache.BloomFilter;
+import com.project.demo.logic.entity.auth.JwtClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked tokens are stored in {@code revoked_token} and mirrored in memory, so the JWT
+ * filter checks them without a query. Other instances' revocations are picked up by a
+ * periodic refresh, and expired rows are compacted away.
+ */
+@Service
+public class TokenRevocationService {
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long tokenLifetimeMillis;
+
+    private volatile State state = new State(1_000);
+    private volatile Date lastRefresh = new Date(0);
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${security.jwt.expiration-time}") long tokenLifetimeMillis
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    public boolean isRevoked(JwtClaims claims) {
+        State current = state;
+
+        if (!current.subjects.isEmpty()) {
+            Long revokedAt = current.subjects.get(claims.getSubject());
+            if (revokedAt != null && claims.getIssuedAt() != null && claims.getIssuedAt().getTime() <= revokedAt) {
+                return true;
+            }
+        }
+
+        String tokenId = claims.getTokenId();
+        return tokenId != null && current.tokenFilter.mightContain(tokenId) && current.tokenIds.contains(tokenId);
+    }
+
+    public void revokeToken(JwtClaims claims) {
+        if (claims.getTokenId() == null) {
+            return;
+        }
+        Date expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration()
+                : new Date(System.currentTimeMillis() + tokenLifetimeMillis);
+        save(List.of(new RevokedToken(RevocationKind.TOKEN, claims.getTokenId(), new Date(), expiresAt)));
+    }
+
+    /**
+     * Revokes every token issued so far to each of the given emails.
+     */
+    public void revokeSubjects(Collection<String> emails) {
+        Date now = new Date();
+        Date expiresAt = new Date(now.getTime() + tokenLifetimeMillis);
+        List<RevokedToken> revocations = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            if (email != null) {
+                revocations.add(new RevokedToken(RevocationKind.SUBJECT, email, now, expiresAt));
+            }
+        }
+        save(revocations);
+    }
+
+    public void revokeSubject(String email) {
+        revokeSubjects(List.of(email));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.revocation.compact-interval-ms:3600000}",
+            initialDelayString = "${security.revocation.compact-interval-ms:3600000}")
+    public synchronized void compact() {
+        Date now = new Date();
+        revokedTokenRepository.deleteExpired(now);
+        List<RevokedToken> live = revokedTokenRepository.findByExpiresAtAfter(now);
+
+        State next = new State(live.size());
+        live.forEach(next::add);
+        state = next;
+        lastRefresh = now;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        Date now = new Date();
+        // Pequeño margen para no perder filas que otra instancia confirmó justo antes
+        Date since = new Date(lastRefresh.getTime() - 5_000);
+        revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now).forEach(state::add);
+        lastRefresh = now;
+    }
+
+    public Map<String, Object> stats() {
+        State current = state;
+        return Map.of(
+                "revokedTokens", current.tokenIds.size(),
+                "revokedSubjects", current.subjects.size()
+        );
+    }
+
+    private void save(List<RevokedToken> revocations) {
+        if (revocations.isEmpty()) {
+            return;
+        }
+        revokedTokenRepository.saveAll(revocations);
+        synchronized (this) {
+            revocations.forEach(state::add);
+        }
+    }
+
+    private static final class State {
+        private final Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+        private final BloomFilter tokenFilter;
+        private final Map<String, Long> subjects = new ConcurrentHashMap<>();
+
+        private State(int expectedTokens) {
+            this.tokenFilter = new BloomFilter(Math.max(1_000, expectedTokens * 2L), 0.01);
+        }
+
+        private void add(RevokedToken revocation) {
+            if (revocation.getKind() == RevocationKind.TOKEN) {
+                tokenFilter.put(revocation.getTokenKey());
+                tokenIds.add(revocation.getTokenKey());
+            } else {
+                subjects.merge(revocation.getTokenKey(), revocation.getRevokedAt().getTime(), Math::max);
+            }
+        }
+    }
+}
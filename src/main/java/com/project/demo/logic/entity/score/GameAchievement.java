@@ -0,0 +1,28 @@
+package com.project.demo.logic.entity.score;
+
+/**
+ * One entry of {@code /score/achievements}: a catalog game and the best stars the user got in it.
+ */
+public class GameAchievement {
+    private final long gameId;
+    private final String gameName;
+    private final int stars;
+
+    public GameAchievement(long gameId, String gameName, int stars) {
+        this.gameId = gameId;
+        this.gameName = gameName;
+        this.stars = stars;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public String getGameName() {
+        return gameName;
+    }
+
+    public int getStars() {
+        return stars;
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.demo.logic.entity.score;
+
+/**
+ * An accepted score waiting for the background writer, in the form it is journaled.
+ */
+final class PendingScore {
+    final String ingestId;
+    final long gameId;
+    final long userId;
+    final long obtainedAtMillis;
+    final int rightAnswers;
+    final int wrongAnswers;
+    final int timeTakenSeconds;
+    final int stars;
+    // Segmento del journal que contiene la entrada; lo asigna ScoreJournal al escribirla
+    long segment = -1;
+
+    PendingScore(String ingestId, long gameId, long userId, long obtainedAtMillis,
+                 int rightAnswers, int wrongAnswers, int timeTakenSeconds, int stars) {
+        this.ingestId = ingestId;
+        this.gameId = gameId;
+        this.userId = userId;
+        this.obtainedAtMillis = obtainedAtMillis;
+        this.rightAnswers = rightAnswers;
+        this.wrongAnswers = wrongAnswers;
+        this.timeTakenSeconds = timeTakenSeconds;
+        this.stars = stars;
+    }
+
+    String toJournalLine() {
+        return ingestId + '\t' + gameId + '\t' + userId + '\t' + obtainedAtMillis + '\t'
+                + rightAnswers + '\t' + wrongAnswers + '\t' + timeTakenSeconds + '\t' + stars + '\n';
+    }
+
+    static PendingScore fromJournalLine(String line) {
+        String[] f = line.split("\t");
+        return new PendingScore(f[0], Long.parseLong(f[1]), Long.parseLong(f[2]), Long.parseLong(f[3]),
+                Integer.parseInt(f[4]), Integer.parseInt(f[5]), Integer.parseInt(f[6]), Integer.parseInt(f[7]));
+    }
+}
@@ -44,6 +44,9 @@ public class Score {
     private User user;
     @Column(name = "wrong_answers")
     private Integer wrongAnswers;
+    // Identificador asignado al aceptar el envío; hace idempotente la reescritura desde el journal
+    @Column(name = "ingest_id", length = 36, unique = true)
+    private String ingestId;
 
     public Long getId() {
         return id;
@@ -108,4 +111,12 @@ public class Score {
     public void setWrongAnswers(Integer wrongAnswers) {
         this.wrongAnswers = wrongAnswers;
     }
+
+    public String getIngestId() {
+        return ingestId;
+    }
+
+    public void setIngestId(String ingestId) {
+        this.ingestId = ingestId;
+    }
 }
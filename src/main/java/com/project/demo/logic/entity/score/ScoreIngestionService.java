@@ -0,0 +1,460 @@
+package com.project.demo.logic.entity.score;
+
+import com.project.demo.logic.entity.game.GameCatalog;
+import com.project.demo.logic.entity.leaderboard.LeaderboardService;
+import com.project.demo.logic.exceptions.BadRequestException;
+import com.project.demo.logic.exceptions.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts finished games and persists them into {@code score}.
+ *
+ * <p>{@code score.ingestion.mode=direct} (default) writes each submission synchronously through
+ * the {@code insertScore} procedure, or, with {@code score.stars.source=engine}, as a single-row
+ * insert rated by the {@link StarRater}. The engine and write-behind mode both need star rules
+ * that have passed the parity suite; startup fails if they are missing.</p>
+ *
+ * <p>In {@code write-behind} mode a submission is validated, rated by the {@link StarRater},
+ * appended to a local journal and acknowledged; a single writer thread then flushes accepted
+ * scores in multi-row inserts. The journal is
+ * replayed on startup and its segments are deleted as they are flushed. Rows carry an
+ * {@code ingest_id}; a replayed duplicate is absorbed by {@code ON DUPLICATE KEY UPDATE}
+ * while any other error still fails the batch. A batch rejected for its data is retried
+ * row by row, and a row that cannot be written on its own is logged and dropped.</p>
+ */
+@Service
+public class ScoreIngestionService implements SmartLifecycle {
+    private static final String INSERT_PREFIX = "INSERT INTO score "
+            + "(ingest_id, game_id, user_id, obtained_at, right_answers, wrong_answers, time_taken, stars) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUFFIX = " ON DUPLICATE KEY UPDATE ingest_id = ingest_id";
+    private static final int COLUMNS = 8;
+    private static final String BEST_PREFIX = "INSERT INTO user_game_best (user_id, game_id, stars, updated_at) VALUES ";
+    private static final String BEST_ROW = "(?, ?, ?, NOW())";
+    private static final String BEST_SUFFIX = " ON DUPLICATE KEY UPDATE "
+            + "updated_at = IF(VALUES(stars) > stars, NOW(), updated_at), stars = GREATEST(stars, VALUES(stars))";
+
+    private final ScoreRepository scoreRepository;
+    private final UserGameBestRepository userGameBestRepository;
+    private final GameCatalog gameCatalog;
+    private final LeaderboardService leaderboardService;
+    private final JdbcTemplate jdbcTemplate;
+    private final StarRater starRater;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean writeBehind;
+    private final boolean procedureStars;
+    private final Path journalPath;
+    private final boolean fsync;
+    private final long segmentBytes;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final long retryMaxMillis;
+    private final long drainTimeoutMillis;
+
+    private final Semaphore capacity;
+    private final LinkedBlockingQueue<PendingScore> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean accepting;
+    private ScoreJournal journal;
+    private Thread writer;
+
+    public ScoreIngestionService(
+            ScoreRepository scoreRepository,
+            UserGameBestRepository userGameBestRepository,
+            GameCatalog gameCatalog,
+            LeaderboardService leaderboardService,
+            JdbcTemplate jdbcTemplate,
+            StarRater starRater,
+            PlatformTransactionManager transactionManager,
+            @Value("${score.ingestion.mode:direct}") String mode,
+            @Value("${score.stars.source:procedure}") String starSource,
+            @Value("${score.ingestion.journal-path:data/score-journal.log}") String journalPath,
+            @Value("${score.ingestion.fsync:true}") boolean fsync,
+            @Value("${score.ingestion.segment-bytes:8388608}") long segmentBytes,
+            @Value("${score.ingestion.queue-capacity:10000}") int queueCapacity,
+            @Value("${score.ingestion.batch-size:500}") int batchSize,
+            @Value("${score.ingestion.linger-ms:20}") long lingerMillis,
+            @Value("${score.ingestion.retry-max-ms:5000}") long retryMaxMillis,
+            @Value("${score.ingestion.drain-timeout-ms:30000}") long drainTimeoutMillis
+    ) {
+        this.scoreRepository = scoreRepository;
+        this.userGameBestRepository = userGameBestRepository;
+        this.gameCatalog = gameCatalog;
+        this.leaderboardService = leaderboardService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.starRater = starRater;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeBehind = "write-behind".equalsIgnoreCase(mode.trim());
+        this.procedureStars = !"engine".equalsIgnoreCase(starSource.trim());
+        if ((writeBehind || !procedureStars) && !starRater.isConfigured()) {
+            throw new IllegalStateException("score.stars.default-rule must be set to use "
+                    + (writeBehind ? "write-behind ingestion" : "score.stars.source=engine"));
+        }
+        this.journalPath = Path.of(journalPath);
+        this.fsync = fsync;
+        this.segmentBytes = segmentBytes;
+        this.capacity = new Semaphore(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMillis = Math.max(0, lingerMillis);
+        this.retryMaxMillis = Math.max(100, retryMaxMillis);
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Records a finished game for {@code userId} and fills in its stars (and, unless the
+     * procedure rates it, its obtainedAt and ingestId).
+     */
+    public Score ingest(Score score, long userId) {
+        if (score.getGame() == null || score.getGame().getId() == null) {
+            throw new BadRequestException("game.id is required");
+        }
+        if (!writeBehind && procedureStars) {
+            score.setStars(transactionTemplate.execute(status -> {
+                Integer stars = scoreRepository.insertScore(score.getGame().getId(), score.getObtainedAt(),
+                        score.getRightAnswers(), score.getTimeTaken(), userId, score.getWrongAnswers());
+                if (stars != null) {
+                    userGameBestRepository.upsert(userId, score.getGame().getId(), stars);
+                }
+                return stars;
+            }));
+            if (score.getStars() != null) {
+                leaderboardService.record(userId, score.getGame().getId(), score.getStars(),
+                        score.getTimeTaken() == null ? 0 : score.getTimeTaken().toLocalTime().toSecondOfDay());
+            }
+            return score;
+        }
+        PendingScore entry = rate(score, userId);
+        if (!writeBehind) {
+            insertBatch(List.of(entry));
+            written.incrementAndGet();
+        } else {
+            enqueue(entry);
+        }
+        score.setObtainedAt(new Date(entry.obtainedAtMillis));
+        score.setStars(entry.stars);
+        score.setIngestId(entry.ingestId);
+        return score;
+    }
+
+    private PendingScore rate(Score score, long userId) {
+        long gameId = score.getGame().getId();
+        int right = score.getRightAnswers() == null ? 0 : score.getRightAnswers();
+        int wrong = score.getWrongAnswers() == null ? 0 : score.getWrongAnswers();
+        if (right < 0 || wrong < 0) {
+            throw new BadRequestException("Answer counts must not be negative");
+        }
+        // Puede ser un juego creado desde otra instancia: el catálogo se recarga, con límite
+        if (!gameCatalog.containsOrRefresh(gameId)) {
+            throw new BadRequestException("Game " + gameId + " does not exist");
+        }
+        int seconds = score.getTimeTaken() == null ? 0 : score.getTimeTaken().toLocalTime().toSecondOfDay();
+        Date obtainedAt = score.getObtainedAt() != null ? score.getObtainedAt() : new Date();
+        int stars = starRater.rate(gameId, right, wrong, seconds);
+        return new PendingScore(UUID.randomUUID().toString(), gameId, userId,
+                obtainedAt.getTime(), right, wrong, seconds, stars);
+    }
+
+    private void enqueue(PendingScore entry) {
+        if (!accepting) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Score ingestion is not accepting submissions");
+        }
+        if (!capacity.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Score ingestion queue is full");
+        }
+        pending.incrementAndGet();
+        try {
+            journal.sync(journal.append(entry));
+        } catch (IOException e) {
+            pending.decrementAndGet();
+            capacity.release();
+            rejected.incrementAndGet();
+            System.out.println("Score journal write failed: " + e.getMessage());
+            throw new ServiceUnavailableException("Score could not be journaled");
+        }
+        queue.add(entry);
+        accepted.incrementAndGet();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        if (!writeBehind) {
+            return;
+        }
+        List<PendingScore> backlog;
+        try {
+            journal = new ScoreJournal(journalPath, fsync, segmentBytes);
+            backlog = journal.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open score journal " + journalPath, e);
+        }
+        if (!backlog.isEmpty()) {
+            System.out.println("Replaying " + backlog.size() + " journaled scores");
+            pending.addAndGet(backlog.size());
+            replayed.addAndGet(backlog.size());
+        }
+        accepting = true;
+        writer = new Thread(() -> runWriter(backlog), "score-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        accepting = false;
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(drainTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            // Lo que quede pendiente sigue en el journal y se reescribe al próximo arranque
+            System.out.println("Score writer did not drain in time; " + pending.get() + " scores left in journal");
+            writer.interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Closing score journal failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Se detiene después del servidor web, cuando ya no llegan más envíos
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter(List<PendingScore> backlog) {
+        for (int from = 0; from < backlog.size(); from += batchSize) {
+            if (!flush(backlog.subList(from, Math.min(backlog.size(), from + batchSize)), false)) {
+                return;
+            }
+        }
+        List<PendingScore> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingScore first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (batch.size() < batchSize && lingerMillis > 0 && running) {
+                    Thread.sleep(lingerMillis);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                if (!flush(batch, true)) {
+                    return;
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes one batch and releases its journal entries. Returns false when the writer should
+     * exit.
+     */
+    private boolean flush(List<PendingScore> batch, boolean fromQueue) {
+        if (!write(batch)) {
+            return false;
+        }
+        batches.incrementAndGet();
+        pending.addAndGet(-batch.size());
+        if (fromQueue) {
+            capacity.release(batch.size());
+        }
+        try {
+            // Las entradas de un lote van en orden, así que cada segmento forma un tramo contiguo
+            int from = 0;
+            for (int i = 1; i <= batch.size(); i++) {
+                if (i == batch.size() || batch.get(i).segment != batch.get(from).segment) {
+                    journal.release(batch.get(from).segment, i - from);
+                    from = i;
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Releasing score journal segment failed: " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Inserts the batch, retrying with exponential backoff on transient failures. When the
+     * database rejects the data itself the rows are written one at a time, so only the
+     * offending row is dropped. Returns false if the writer was interrupted.
+     */
+    private boolean write(List<PendingScore> batch) {
+        long backoff = 100;
+        while (true) {
+            try {
+                insertBatch(batch);
+                written.addAndGet(batch.size());
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                failedBatches.incrementAndGet();
+                if (batch.size() == 1) {
+                    dropped.incrementAndGet();
+                    System.out.println("Dropping score that cannot be written (" + e.getMostSpecificCause().getMessage()
+                            + "): " + batch.get(0).toJournalLine().trim());
+                    return true;
+                }
+                System.out.println("Score batch of " + batch.size() + " rejected, writing rows one at a time: "
+                        + e.getMostSpecificCause().getMessage());
+                for (PendingScore score : batch) {
+                    if (!write(List.of(score))) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                System.out.println("Score batch of " + batch.size() + " failed: " + e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, retryMaxMillis);
+            }
+        }
+    }
+
+    private void insertBatch(List<PendingScore> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (INSERT_ROW.length() + 2));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * COLUMNS];
+        int i = 0;
+        for (PendingScore score : batch) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(INSERT_ROW);
+            args[i++] = score.ingestId;
+            args[i++] = score.gameId;
+            args[i++] = score.userId;
+            args[i++] = new java.sql.Timestamp(score.obtainedAtMillis);
+            args[i++] = score.rightAnswers;
+            args[i++] = score.wrongAnswers;
+            args[i++] = Time.valueOf(LocalTime.ofSecondOfDay(score.timeTakenSeconds));
+            args[i++] = score.stars;
+        }
+        sql.append(INSERT_SUFFIX);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(sql.toString(), args);
+            upsertBest(batch);
+        });
+        for (PendingScore score : batch) {
+            leaderboardService.record(score.userId, score.gameId, score.stars, score.timeTakenSeconds);
+        }
+    }
+
+    /**
+     * Raises user_game_best for every (user, game) in the batch, collapsed to its best stars and
+     * sorted by key so concurrent upserts lock rows in the same order.
+     */
+    private void upsertBest(List<PendingScore> batch) {
+        long[][] keys = new long[batch.size()][];
+        int i = 0;
+        for (PendingScore score : batch) {
+            keys[i++] = new long[]{score.userId, score.gameId, score.stars};
+        }
+        Arrays.sort(keys, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        StringBuilder sql = new StringBuilder(BEST_PREFIX.length() + BEST_SUFFIX.length() + keys.length * (BEST_ROW.length() + 2));
+        sql.append(BEST_PREFIX);
+        List<Object> args = new ArrayList<>(keys.length * 3);
+        for (int k = 0; k < keys.length; k++) {
+            long[] key = keys[k];
+            if (k + 1 < keys.length && keys[k + 1][0] == key[0] && keys[k + 1][1] == key[1]) {
+                keys[k + 1][2] = Math.max(keys[k + 1][2], key[2]);
+                continue;
+            }
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(BEST_ROW);
+            args.add(key[0]);
+            args.add(key[1]);
+            args.add((int) key[2]);
+        }
+        sql.append(BEST_SUFFIX);
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", writeBehind ? "write-behind" : "direct");
+        stats.put("starSource", procedureStars && !writeBehind ? "procedure" : "engine");
+        stats.put("pending", pending.get());
+        stats.put("queued", queue.size());
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("written", written.get());
+        stats.put("batches", batches.get());
+        stats.put("failedBatches", failedBatches.get());
+        stats.put("replayed", replayed.get());
+        stats.put("dropped", dropped.get());
+        stats.put("journalSegments", journal == null ? 0 : journal.pendingSegments());
+        return stats;
+    }
+}
@@ -0,0 +1,210 @@
+package com.project.demo.logic.entity.score;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local journal of accepted scores, split into segments {@code <path>.<n>}. The
+ * active segment rolls over once it reaches {@code segmentBytes}, and a segment is deleted as
+ * soon as every entry in it has been written to the database. The journal therefore stays
+ * bounded under a steady stream, and a crash replays only what is still pending.
+ *
+ * <p>Appends are serialized; {@link #sync(long)} forces the file once for every caller whose
+ * append it covers (group commit).</p>
+ */
+final class ScoreJournal implements AutoCloseable {
+    // Un token de posición es (segmento << 40) | offset, así crece de forma monótona entre segmentos
+    private static final int OFFSET_BITS = 40;
+
+    private final Path directory;
+    private final String prefix;
+    private final boolean fsync;
+    private final long segmentBytes;
+    private final Object syncLock = new Object();
+    private final Map<Long, Long> outstanding = new HashMap<>();
+
+    private FileChannel channel;
+    private long activeSegment = -1;
+    private long written;
+    private volatile long synced;
+
+    ScoreJournal(Path path, boolean fsync, long segmentBytes) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        this.directory = absolute.getParent();
+        this.prefix = absolute.getFileName().toString() + ".";
+        this.fsync = fsync;
+        this.segmentBytes = Math.max(4096, segmentBytes);
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Reads the entries left by a previous run, tagged with their segment, and opens a fresh
+     * active segment. Must be called once, before the first append.
+     */
+    synchronized List<PendingScore> recover() throws IOException {
+        // Journal de un solo archivo de versiones anteriores: se recupera como el primer segmento
+        Path legacy = directory.resolve(prefix.substring(0, prefix.length() - 1));
+        if (Files.exists(legacy) && !Files.exists(segmentPath(-1))) {
+            Files.move(legacy, segmentPath(-1));
+        }
+
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix)) {
+                    try {
+                        segments.put(Long.parseLong(name.substring(prefix.length())), file);
+                    } catch (NumberFormatException ignored) {
+                        // No es un segmento
+                    }
+                }
+            });
+        }
+
+        List<PendingScore> scores = new ArrayList<>();
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            long count = 0;
+            try (BufferedReader reader = Files.newBufferedReader(segment.getValue(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // Una línea incompleta al final es una escritura interrumpida que nunca se confirmó
+                    if (line.isBlank() || line.split("\t").length != 8) {
+                        continue;
+                    }
+                    PendingScore score;
+                    try {
+                        score = PendingScore.fromJournalLine(line);
+                    } catch (NumberFormatException e) {
+                        System.out.println("Skipping unreadable score journal line in " + segment.getValue()
+                                + ": " + e.getMessage());
+                        continue;
+                    }
+                    score.segment = segment.getKey();
+                    scores.add(score);
+                    count++;
+                }
+            }
+            if (count == 0) {
+                Files.deleteIfExists(segment.getValue());
+            } else {
+                outstanding.put(segment.getKey(), count);
+            }
+        }
+        openSegment(segments.isEmpty() ? 0 : Math.max(0, segments.lastKey() + 1));
+        return scores;
+    }
+
+    /**
+     * @return a position token just past this entry, to pass to {@link #sync(long)}
+     */
+    synchronized long append(PendingScore score) throws IOException {
+        if (written >= segmentBytes) {
+            roll(true);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(score.toJournalLine().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        written += buffer.capacity();
+        score.segment = activeSegment;
+        outstanding.merge(activeSegment, 1L, Long::sum);
+        return (activeSegment << OFFSET_BITS) | written;
+    }
+
+    void sync(long token) throws IOException {
+        if (!fsync || synced >= token) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= token) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            synchronized (this) {
+                target = (activeSegment << OFFSET_BITS) | written;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (ClosedChannelException e) {
+                // El segmento se cerró en un roll, que ya lo forzó a disco
+                if (synced >= token) {
+                    return;
+                }
+                throw e;
+            }
+            synced = Math.max(synced, target);
+        }
+    }
+
+    /**
+     * Marks {@code count} entries of {@code segment} as written to the database; a segment
+     * with nothing left is deleted.
+     */
+    synchronized void release(long segment, long count) throws IOException {
+        Long left = outstanding.merge(segment, -count, Long::sum);
+        if (left == null || left > 0) {
+            return;
+        }
+        outstanding.remove(segment);
+        if (segment == activeSegment) {
+            // Todo lo escrito ya está en la base de datos: se empieza un segmento nuevo
+            roll(false);
+        }
+        Files.deleteIfExists(segmentPath(segment));
+    }
+
+    /**
+     * @return segments that still hold entries not yet written to the database
+     */
+    synchronized int pendingSegments() {
+        return outstanding.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void roll(boolean force) throws IOException {
+        long end = (activeSegment << OFFSET_BITS) | written;
+        if (force && fsync) {
+            channel.force(false);
+        }
+        synced = Math.max(synced, end);
+        channel.close();
+        long previous = activeSegment;
+        openSegment(activeSegment + 1);
+        if (!outstanding.containsKey(previous)) {
+            Files.deleteIfExists(segmentPath(previous));
+        }
+    }
+
+    private void openSegment(long segment) throws IOException {
+        channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        activeSegment = segment;
+        written = 0;
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(prefix + segment);
+    }
+}
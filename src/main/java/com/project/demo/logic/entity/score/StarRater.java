@@ -0,0 +1,13 @@
+package com.project.demo.logic.entity.score;
+
+/**
+ * Computes the stars of a finished game outside the database.
+ */
+public interface StarRater {
+    /**
+     * @return whether rules are loaded; {@link #rate} must not be called otherwise
+     */
+    boolean isConfigured();
+
+    int rate(long gameId, int rightAnswers, int wrongAnswers, int timeTakenSeconds);
+}
@@ -0,0 +1,180 @@
+package com.project.demo.logic.entity.score;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process replacement for the star calculation of the {@code insertScore} procedure.
+ *
+ * <p>Every game has a rule: ascending accuracy thresholds in percent (one star per threshold
+ * reached) and an optional time limit in seconds that costs one star when exceeded. Rules are
+ * read from {@code score.stars.default-rule} and {@code score.stars.rules}, e.g.
+ * {@code 50/75/90} and {@code 3=60/80/95@120;4=40/70/90}, and parsed once into arrays indexed
+ * by game id, so {@link #rate} does not allocate.</p>
+ *
+ * <p>There is no built-in rule: the rules must be the ones {@code StarRatingParityTest} has
+ * confirmed against the procedure. Without them the engine stays unconfigured and
+ * {@code ScoreIngestionService} refuses to use it.</p>
+ */
+@Component
+public class StarRatingEngine implements StarRater {
+    static final int MAX_GAME_ID = 1 << 16;
+
+    private volatile Rules rules;
+
+    public StarRatingEngine(
+            @Value("${score.stars.default-rule:}") String defaultRule,
+            @Value("${score.stars.rules:}") String gameRules
+    ) {
+        this.rules = parseRules(defaultRule, gameRules);
+    }
+
+    /**
+     * Replaces the cached rules. Invalid specs throw {@link IllegalArgumentException} and
+     * leave the previous rules in place.
+     */
+    public void reload(String defaultRule, String gameRules) {
+        this.rules = parseRules(defaultRule, gameRules);
+    }
+
+    /**
+     * @return the parsed rules, or {@code null} when no default rule is given
+     */
+    private static Rules parseRules(String defaultRule, String gameRules) {
+        if (defaultRule == null || defaultRule.isBlank()) {
+            if (gameRules != null && !gameRules.isBlank()) {
+                throw new IllegalArgumentException("score.stars.rules requires score.stars.default-rule");
+            }
+            return null;
+        }
+        return Rules.parse(defaultRule, gameRules);
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return rules != null;
+    }
+
+    @Override
+    public int rate(long gameId, int rightAnswers, int wrongAnswers, int timeTakenSeconds) {
+        Rules current = rules;
+        if (current == null) {
+            throw new IllegalStateException("Star rules are not configured (score.stars.default-rule)");
+        }
+        int slot = gameId >= 0 && gameId < current.slotByGame.length ? current.slotByGame[(int) gameId] : 0;
+        long total = (long) Math.max(0, rightAnswers) + Math.max(0, wrongAnswers);
+        if (total == 0) {
+            return 0;
+        }
+        long right = Math.max(0, rightAnswers) * 100L;
+        int[] thresholds = current.thresholds[slot];
+        int stars = 0;
+        while (stars < thresholds.length && right >= thresholds[stars] * total) {
+            stars++;
+        }
+        int maxSeconds = current.maxSeconds[slot];
+        if (stars > 0 && maxSeconds > 0 && timeTakenSeconds > maxSeconds) {
+            stars--;
+        }
+        return stars;
+    }
+
+    public Map<String, Object> describe() {
+        Rules current = rules;
+        Map<String, Object> description = new LinkedHashMap<>();
+        if (current == null) {
+            return description;
+        }
+        description.put("default", current.specs[0]);
+        for (int gameId = 0; gameId < current.slotByGame.length; gameId++) {
+            int slot = current.slotByGame[gameId];
+            if (slot != 0) {
+                description.put(String.valueOf(gameId), current.specs[slot]);
+            }
+        }
+        return description;
+    }
+
+    static final class Rules {
+        final int[] slotByGame;
+        final int[][] thresholds;
+        final int[] maxSeconds;
+        final String[] specs;
+
+        private Rules(int[] slotByGame, int[][] thresholds, int[] maxSeconds, String[] specs) {
+            this.slotByGame = slotByGame;
+            this.thresholds = thresholds;
+            this.maxSeconds = maxSeconds;
+            this.specs = specs;
+        }
+
+        static Rules parse(String defaultRule, String gameRules) {
+            Map<Integer, String> byGame = new LinkedHashMap<>();
+            int maxId = -1;
+            if (gameRules != null && !gameRules.isBlank()) {
+                for (String entry : gameRules.split(";")) {
+                    if (entry.isBlank()) {
+                        continue;
+                    }
+                    int eq = entry.indexOf('=');
+                    if (eq < 0) {
+                        throw new IllegalArgumentException("Star rule must be gameId=rule: " + entry);
+                    }
+                    int gameId;
+                    try {
+                        gameId = Integer.parseInt(entry.substring(0, eq).trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid game id in star rule: " + entry);
+                    }
+                    if (gameId < 0 || gameId >= MAX_GAME_ID) {
+                        throw new IllegalArgumentException("Game id out of range in star rule: " + entry);
+                    }
+                    byGame.put(gameId, entry.substring(eq + 1).trim());
+                    maxId = Math.max(maxId, gameId);
+                }
+            }
+
+            int slots = byGame.size() + 1;
+            int[][] thresholds = new int[slots][];
+            int[] maxSeconds = new int[slots];
+            String[] specs = new String[slots];
+            parseRule(defaultRule.trim(), 0, thresholds, maxSeconds, specs);
+
+            int[] slotByGame = new int[maxId + 1];
+            int slot = 1;
+            for (Map.Entry<Integer, String> entry : byGame.entrySet()) {
+                parseRule(entry.getValue(), slot, thresholds, maxSeconds, specs);
+                slotByGame[entry.getKey()] = slot++;
+            }
+            return new Rules(slotByGame, thresholds, maxSeconds, specs);
+        }
+
+        private static void parseRule(String spec, int slot, int[][] thresholds, int[] maxSeconds, String[] specs) {
+            String levels = spec;
+            int limit = 0;
+            int at = spec.indexOf('@');
+            try {
+                if (at >= 0) {
+                    levels = spec.substring(0, at);
+                    limit = Integer.parseInt(spec.substring(at + 1).trim());
+                }
+                String[] parts = levels.split("/");
+                int[] values = new int[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    values[i] = Integer.parseInt(parts[i].trim());
+                    if (values[i] < 0 || values[i] > 100 || (i > 0 && values[i] < values[i - 1])) {
+                        throw new IllegalArgumentException("Star thresholds must be ascending percentages: " + spec);
+                    }
+                }
+                thresholds[slot] = values;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid star rule: " + spec);
+            }
+            maxSeconds[slot] = Math.max(0, limit);
+            specs[slot] = spec;
+        }
+    }
+}
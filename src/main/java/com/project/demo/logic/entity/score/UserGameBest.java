@@ -0,0 +1,58 @@
+package com.project.demo.logic.entity.score;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.util.Date;
+
+/**
+ * Best stars a user has reached in a game, kept up to date by the score write paths with
+ * {@code GREATEST} so achievements do not aggregate the whole score history.
+ */
+@Entity
+@IdClass(UserGameBestId.class)
+@Table(name = "user_game_best", indexes = {
+        // Hibernate ordena las columnas de la PK compuesta; este índice garantiza la lectura por usuario
+        @Index(name = "idx_user_game_best_user", columnList = "user_id, game_id, stars")
+})
+public class UserGameBest {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    @Id
+    @Column(name = "game_id")
+    private Long gameId;
+    @Column(nullable = false)
+    private Integer stars;
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public Integer getStars() {
+        return stars;
+    }
+
+    public void setStars(Integer stars) {
+        this.stars = stars;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.demo.logic.entity.score;
+
+import com.project.demo.logic.exceptions.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Builds {@code user_game_best} from the existing score history, one range of user ids per
+ * statement. The upsert keeps the greater value, so it is safe to run while scores are written.
+ * Progress is saved in {@code user_game_best_backfill} after every range: on startup
+ * ({@code score.best.backfill-on-startup}) an unfinished run resumes where it stopped and a
+ * finished one is not repeated. {@code POST /admin/score-best/backfill} starts over from the
+ * first user.
+ */
+@Component
+public class UserGameBestBackfill {
+    private static final String BACKFILL_SQL = "INSERT INTO user_game_best (user_id, game_id, stars, updated_at) "
+            + "SELECT s.user_id, s.game_id, MAX(s.stars), NOW() FROM score s "
+            + "WHERE s.user_id > ? AND s.user_id <= ? AND s.stars IS NOT NULL "
+            + "GROUP BY s.user_id, s.game_id "
+            + "ON DUPLICATE KEY UPDATE stars = GREATEST(user_game_best.stars, VALUES(stars))";
+    private static final String SAVE_PROGRESS_SQL = "INSERT INTO user_game_best_backfill "
+            + "(id, last_user_id, target_user_id, completed_at) VALUES (1, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE last_user_id = VALUES(last_user_id), "
+            + "target_user_id = VALUES(target_user_id), completed_at = VALUES(completed_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkUsers;
+    private final boolean onStartup;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile boolean complete;
+    private volatile long lastRows;
+    private volatile long lastMillis;
+
+    public UserGameBestBackfill(
+            JdbcTemplate jdbcTemplate,
+            @Value("${score.best.backfill-chunk-users:1000}") int chunkUsers,
+            @Value("${score.best.backfill-on-startup:true}") boolean onStartup
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkUsers = Math.max(1, chunkUsers);
+        this.onStartup = onStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        List<Map<String, Object>> state = jdbcTemplate.queryForList(
+                "SELECT last_user_id, target_user_id, completed_at FROM user_game_best_backfill WHERE id = 1");
+        if (!state.isEmpty() && state.get(0).get("completed_at") != null) {
+            complete = true;
+            return;
+        }
+        if (!onStartup) {
+            return;
+        }
+        long from = state.isEmpty() ? 0 : ((Number) state.get(0).get("last_user_id")).longValue();
+        Long target = state.isEmpty() ? null : ((Number) state.get(0).get("target_user_id")).longValue();
+        Thread thread = new Thread(() -> {
+            try {
+                run(from, target);
+            } catch (RuntimeException e) {
+                System.out.println("user_game_best backfill failed: " + e.getMessage());
+            }
+        }, "user-game-best-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Whether {@code user_game_best} covers the whole score history. Until then readers should
+     * fall back to aggregating {@code score}.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Runs a full backfill from the first user.
+     *
+     * @return the number of rows touched
+     */
+    public long backfill() {
+        return run(0, null);
+    }
+
+    /**
+     * @param target last user id to cover, or {@code null} to take the current maximum
+     */
+    private long run(long from, Long target) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A user_game_best backfill is already running");
+        }
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        complete = false;
+        try {
+            long last;
+            if (target != null) {
+                last = target;
+            } else {
+                Long maxUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) FROM score", Long.class);
+                last = maxUserId == null ? 0 : maxUserId;
+            }
+            // Los puntajes de usuarios posteriores al objetivo ya los mantiene la ruta de escritura
+            jdbcTemplate.update(SAVE_PROGRESS_SQL, from, last, null);
+            for (long lower = from; lower < last; lower += chunkUsers) {
+                long upper = Math.min(last, lower + chunkUsers);
+                // Cada rango es su propia sentencia en autocommit: los bloqueos duran un solo tramo
+                rows += jdbcTemplate.update(BACKFILL_SQL, lower, upper);
+                jdbcTemplate.update(SAVE_PROGRESS_SQL, upper, last, null);
+            }
+            jdbcTemplate.update(SAVE_PROGRESS_SQL, last, last, new Timestamp(System.currentTimeMillis()));
+            complete = true;
+        } finally {
+            lastRows = rows;
+            lastMillis = System.currentTimeMillis() - start;
+            running.set(false);
+        }
+        System.out.println("user_game_best backfill: " + rows + " rows in " + lastMillis + " ms");
+        return rows;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running.get());
+        stats.put("complete", complete);
+        stats.put("lastRows", lastRows);
+        stats.put("lastMillis", lastMillis);
+        return stats;
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.demo.logic.entity.score;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Progress of the {@code user_game_best} backfill: a single row (id 1) holding the last user id
+ * already covered and, once the whole range is done, the completion time.
+ */
+@Entity
+@Table(name = "user_game_best_backfill")
+public class UserGameBestBackfillState {
+    @Id
+    private Integer id;
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId;
+    @Column(name = "target_user_id", nullable = false)
+    private Long targetUserId;
+    @Column(name = "completed_at")
+    private Date completedAt;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getLastUserId() {
+        return lastUserId;
+    }
+
+    public Long getTargetUserId() {
+        return targetUserId;
+    }
+
+    public Date getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.demo.logic.entity.score;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class UserGameBestId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+    private Long gameId;
+
+    public UserGameBestId() {
+    }
+
+    public UserGameBestId(Long userId, Long gameId) {
+        this.userId = userId;
+        this.gameId = gameId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserGameBestId other)) {
+            return false;
+        }
+        return Objects.equals(userId, other.userId) && Objects.equals(gameId, other.gameId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, gameId);
+    }
+}
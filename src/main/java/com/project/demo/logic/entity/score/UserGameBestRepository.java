@@ -0,0 +1,23 @@
+package com.project.demo.logic.entity.score;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserGameBestRepository extends JpaRepository<UserGameBest, UserGameBestId> {
+
+    @Query("SELECT b.gameId, b.stars FROM UserGameBest b WHERE b.userId = :userId ORDER BY b.gameId")
+    List<Object[]> findBestStarsByUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_game_best (user_id, game_id, stars, updated_at) " +
+            "VALUES (:userId, :gameId, :stars, NOW()) " +
+            "ON DUPLICATE KEY UPDATE updated_at = IF(VALUES(stars) > stars, NOW(), updated_at), " +
+            "stars = GREATEST(stars, VALUES(stars))", nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("gameId") Long gameId, @Param("stars") Integer stars);
+}
@@ -0,0 +1,125 @@
+package com.project.demo.logic.entity.user;
+
+import com.project.demo.logic.cache.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of every registered email. A negative answer means the email is certainly
+ * free and the database is not queried; a positive answer must be confirmed with
+ * {@link UserRepository#findByEmail}. Until the first build finishes every email is
+ * reported as possibly taken. The filter is rebuilt every
+ * {@code users.email-filter.rebuild-interval-ms}, which picks up emails registered through other
+ * instances and resizes it for the current population.
+ */
+@Component
+public class EmailExistenceFilter {
+    private final UserRepository userRepository;
+    private final double falsePositiveRate;
+
+    private final Object swapLock = new Object();
+    private volatile BloomFilter filter;
+    // Los dos siguientes solo cambian bajo swapLock
+    private BloomFilter building;
+    private List<String> addedBeforeBuild;
+
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder possiblePositives = new LongAdder();
+
+    public EmailExistenceFilter(
+            UserRepository userRepository,
+            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        if (email == null || current == null || current.mightContain(normalize(email))) {
+            possiblePositives.increment();
+            return true;
+        }
+        definiteNegatives.increment();
+        return false;
+    }
+
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        String normalized = normalize(email);
+        synchronized (swapLock) {
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(normalized);
+            }
+            if (building != null) {
+                building.put(normalized);
+            } else if (addedBeforeBuild != null) {
+                addedBeforeBuild.add(normalized);
+            }
+        }
+    }
+
+    /**
+     * Streams the user table into a new filter sized for twice the current population and
+     * swaps it in. Emails added from the first read of the build until the swap go into both
+     * filters; {@link #add} and the swap share a lock, so none is lost to the old filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${users.email-filter.rebuild-interval-ms:300000}",
+            initialDelayString = "${users.email-filter.rebuild-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        // Antes de la primera lectura: lo que se agregue desde aquí puede no estar en la instantánea
+        synchronized (swapLock) {
+            addedBeforeBuild = new ArrayList<>();
+        }
+        try {
+            BloomFilter next = new BloomFilter(Math.max(10_000, userRepository.count() * 2), falsePositiveRate);
+            synchronized (swapLock) {
+                addedBeforeBuild.forEach(next::put);
+                addedBeforeBuild = null;
+                building = next;
+            }
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                emails.forEach(email -> next.put(normalize(email)));
+            }
+            synchronized (swapLock) {
+                filter = next;
+            }
+        } finally {
+            synchronized (swapLock) {
+                building = null;
+                addedBeforeBuild = null;
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        BloomFilter current = filter;
+        return Map.of(
+                "ready", current != null,
+                "bits", current != null ? current.getNumBits() : 0,
+                "hashes", current != null ? current.getNumHashes() : 0,
+                "definiteNegatives", definiteNegatives.sum(),
+                "possiblePositives", possiblePositives.sum()
+        );
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.demo.logic.entity.user;
+
+import com.project.demo.logic.cache.BoundedTtlCache;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the teacher listing. Writers that can add, remove or re-role a teacher call
+ * {@link #invalidate()}; the TTL bounds staleness for any other path.
+ */
+@Component
+public class TeacherDirectory {
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<RoleEnum, List<TeacherSummary>> cache;
+
+    public TeacherDirectory(
+            UserRepository userRepository,
+            @Value("${users.teacher-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.cache = new BoundedTtlCache<>(1, ttlSeconds * 1000);
+    }
+
+    public List<TeacherSummary> getTeachers() {
+        return cache.get(RoleEnum.ADMIN, role -> List.copyOf(userRepository.findSummariesByRole(role)));
+    }
+
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+}
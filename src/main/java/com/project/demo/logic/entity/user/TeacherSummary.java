@@ -0,0 +1,46 @@
+package com.project.demo.logic.entity.user;
+
+/**
+ * Lightweight view of a teacher (role {@code ADMIN}) for listings.
+ */
+public class TeacherSummary {
+    private final Long id;
+    private final String name;
+    private final String lastname;
+    private final String email;
+    private final Integer avatarId;
+    private final Integer active;
+
+    public TeacherSummary(Long id, String name, String lastname, String email, Integer avatarId, Integer active) {
+        this.id = id;
+        this.name = name;
+        this.lastname = lastname;
+        this.email = email;
+        this.avatarId = avatarId;
+        this.active = active;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getAvatarId() {
+        return avatarId;
+    }
+
+    public Integer getActive() {
+        return active;
+    }
+}
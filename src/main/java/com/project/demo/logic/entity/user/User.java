@@ -1,8 +1,12 @@
 package com.project.demo.logic.entity.user;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.demo.logic.entity.auth.AuthenticatedPrincipal;
 import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
 import com.project.demo.logic.entity.user_listener.UserListener;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,8 +18,9 @@ import java.util.List;
 
 @Table(name = "user")
 @Entity
+@DynamicUpdate
 @EntityListeners(UserListener.class)
-public class User implements UserDetails {
+public class User implements UserDetails, AuthenticatedPrincipal {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,8 +34,6 @@ public class User implements UserDetails {
 
     @Column(nullable = false)
     private String password;
-    @Column(name = "reset_token")
-    private String resetToken;
 
     @CreationTimestamp
     @Column(updatable = false, name = "created_at")
@@ -40,6 +43,11 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private Date updatedAt;
 
+    // Control de concurrencia optimista; las filas existentes arrancan en 0
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.getName().toString());
@@ -85,6 +93,7 @@ public class User implements UserDetails {
         return email;
     }
 
+    @Override
     public Long getId() {
         return id;
     }
@@ -100,6 +109,7 @@ public class User implements UserDetails {
     public void setName(String name) {
         this.name = name;
     }
+    @Override
     public Integer getActive() {
         return active;
     }
@@ -115,6 +125,7 @@ public class User implements UserDetails {
         this.lastname = lastname;
     }
 
+    @Override
     public String getEmail() {
         return email;
     }
@@ -132,13 +143,6 @@ public class User implements UserDetails {
         this.password = password;
     }
 
-    public String getResetToken() {
-        return resetToken;
-    }
-
-    public void setResetToken(String resetToken) {
-        this.resetToken = resetToken;
-    }
     public Date getCreatedAt() {
         return createdAt;
     }
@@ -155,6 +159,14 @@ public class User implements UserDetails {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Role getRole() {
         return role;
     }
@@ -163,4 +175,10 @@ public class User implements UserDetails {
         this.role = role;
     }
 
+    @Override
+    @JsonIgnore
+    public RoleEnum getRoleName() {
+        return role != null ? role.getName() : null;
+    }
+
 }
\ No newline at end of file
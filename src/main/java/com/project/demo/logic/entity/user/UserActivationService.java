@@ -0,0 +1,97 @@
+package com.project.demo.logic.entity.user;
+
+import com.project.demo.logic.entity.auth.PrincipalCache;
+import com.project.demo.logic.entity.revoked_token.TokenRevocationService;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Activates or deactivates many users with set-based UPDATEs. Targets are selected in id
+ * order, {@code users.bulk-active.chunk-size} at a time, and each chunk is one UPDATE followed
+ * by principal-cache invalidation and, when deactivating, subject revocation of its tokens.
+ * Users already in the requested state are skipped.
+ */
+@Service
+public class UserActivationService {
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final TeacherDirectory teacherDirectory;
+    private final int chunkSize;
+
+    public UserActivationService(
+            UserRepository userRepository,
+            PrincipalCache principalCache,
+            TokenRevocationService tokenRevocationService,
+            TeacherDirectory teacherDirectory,
+            @Value("${users.bulk-active.chunk-size:1000}") int chunkSize
+    ) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.teacherDirectory = teacherDirectory;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param ids    explicit user ids, or {@code null} to select by the other filters only
+     * @param role   restrict to this role, or {@code null}; callers that are not SUPER_ADMIN
+     *               must pass {@code USER}
+     * @param teamId restrict to the students of this team, or {@code null}
+     * @return number of users whose status changed
+     */
+    public long setActive(int active, Collection<Long> ids, RoleEnum role, Long teamId) {
+        long updated = 0;
+
+        if (ids != null) {
+            List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+            for (int from = 0; from < distinct.size(); from += chunkSize) {
+                List<Long> slice = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+                updated += apply(active, userRepository.findActivationTargetsByIds(slice, active, role, teamId));
+            }
+        } else {
+            long afterId = 0;
+            List<UserKey> targets;
+            do {
+                targets = userRepository.findActivationTargets(afterId, active, role, teamId, PageRequest.of(0, chunkSize));
+                if (!targets.isEmpty()) {
+                    afterId = targets.get(targets.size() - 1).getId();
+                    updated += apply(active, targets);
+                }
+            } while (targets.size() == chunkSize);
+        }
+
+        if (updated > 0) {
+            teacherDirectory.invalidate();
+        }
+        return updated;
+    }
+
+    private int apply(int active, List<UserKey> targets) {
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(targets.size());
+        List<String> emails = new ArrayList<>(targets.size());
+        for (UserKey target : targets) {
+            ids.add(target.getId());
+            emails.add(target.getEmail());
+        }
+
+        int updated = userRepository.updateActive(ids, active, new Date());
+
+        emails.forEach(principalCache::invalidate);
+        if (active == 0) {
+            tokenRevocationService.revokeSubjects(emails);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.demo.logic.entity.user;
+
+/**
+ * Id and email of a user, for bulk operations that must also clear per-email caches.
+ */
+public class UserKey {
+    private final Long id;
+    private final String email;
+
+    public UserKey(Long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.demo.logic.entity.user;
+
+import com.project.demo.logic.exceptions.ConflictException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Partial profile updates on a managed entity: with {@code @DynamicUpdate} only the changed
+ * columns are written, and {@code @Version} rejects writes based on a stale read.
+ */
+@Service
+public class UserProfileService {
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    public UserProfileService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Applies {@code updates} to the user. When the map carries a {@code version} it must match
+     * the stored one, otherwise a {@link ConflictException} is thrown.
+     *
+     * @return the updated entity, flushed so its version and timestamps are current
+     */
+    @Transactional
+    public User updateProfile(Long userId, Map<String, Object> updates) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        Object expectedVersion = updates.get("version");
+        if (expectedVersion != null && !expectedVersion.toString().equals(String.valueOf(user.getVersion()))) {
+            throw new ConflictException("Profile version " + expectedVersion + " is stale, current is " + user.getVersion());
+        }
+
+        updates.forEach((key, value) -> {
+            try {
+                switch (key) {
+                    case "name":
+                        user.setName((String) value);
+                        break;
+                    case "lastname":
+                        user.setLastname((String) value);
+                        break;
+                    case "email":
+                        user.setEmail((String) value);
+                        break;
+                    case "password":
+                        if (value != null && !((String) value).isEmpty()) {
+                            user.setPassword(passwordEncoder.encode((String) value));
+                        }
+                        break;
+                    case "active":
+                        user.setActive(Integer.parseInt(value.toString())); // Convierte a Integer si es necesario
+                        break;
+                    case "avatarId":
+                        user.setAvatarId(Integer.parseInt(value.toString())); // Convierte a Integer si es necesario
+                        break;
+                    // Añadir otros campos si es necesario
+                }
+            } catch (ClassCastException | NumberFormatException e) {
+                // Maneja errores de conversión aquí
+                System.out.println("Error de conversión en el campo: " + key + " con valor: " + value);
+            }
+        });
+
+        // El flush aplica el UPDATE y deja versión y updatedAt al día en la entidad devuelta
+        userRepository.flush();
+        return user;
+    }
+}
@@ -1,10 +1,22 @@
 package com.project.demo.logic.entity.user;
 
+import com.project.demo.logic.entity.rol.RoleEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long>  {
     @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE %?1%")
@@ -17,5 +29,51 @@ public interface UserRepository extends JpaRepository<User, Long>  {
 
     Optional<User> findByEmail(String email);
 
-    Optional<User> findByResetToken(String token);
+    @Query("SELECT u.email FROM User u WHERE u.email IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Query("SELECT new com.project.demo.logic.entity.user.TeacherSummary(u.id, u.name, u.lastname, u.email, u.avatarId, u.active) " +
+            "FROM User u WHERE u.role.name = ?1 ORDER BY u.name, u.lastname")
+    List<TeacherSummary> findSummariesByRole(RoleEnum role);
+
+    @Query("SELECT new com.project.demo.logic.entity.user.UserKey(u.id, u.email) FROM User u " +
+            "WHERE u.id > :afterId AND (u.active IS NULL OR u.active <> :active) " +
+            "AND (:role IS NULL OR u.role.name = :role) " +
+            "AND (:teamId IS NULL OR u.id IN (SELECT s.id FROM Team t JOIN t.students s WHERE t.id = :teamId)) " +
+            "ORDER BY u.id")
+    List<UserKey> findActivationTargets(@Param("afterId") Long afterId, @Param("active") Integer active,
+                                        @Param("role") RoleEnum role, @Param("teamId") Long teamId, Pageable pageable);
+
+    @Query("SELECT new com.project.demo.logic.entity.user.UserKey(u.id, u.email) FROM User u " +
+            "WHERE u.id IN :ids AND (u.active IS NULL OR u.active <> :active) " +
+            "AND (:role IS NULL OR u.role.name = :role) " +
+            "AND (:teamId IS NULL OR u.id IN (SELECT s.id FROM Team t JOIN t.students s WHERE t.id = :teamId))")
+    List<UserKey> findActivationTargetsByIds(@Param("ids") Collection<Long> ids, @Param("active") Integer active,
+                                             @Param("role") RoleEnum role, @Param("teamId") Long teamId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.active = :active, u.updatedAt = :now, u.version = u.version + 1 WHERE u.id IN :ids")
+    int updateActive(@Param("ids") Collection<Long> ids, @Param("active") Integer active, @Param("now") Date now);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.project.demo.logic.entity.user.UserSearchHit(u.id, u.name, u.lastname, u.email, u.avatarId) FROM User u")
+    Stream<UserSearchHit> streamSearchHits();
+
+    @Query("SELECT new com.project.demo.logic.entity.user.UserSearchHit(u.id, u.name, u.lastname, u.email, u.avatarId) " +
+            "FROM User u WHERE u.email IN ?1")
+    List<UserSearchHit> findSearchHitsByEmails(Collection<String> emails);
+
+    @Query("SELECT new com.project.demo.logic.entity.user.UserSearchHit(u.id, u.name, u.lastname, u.email, u.avatarId) " +
+            "FROM User u WHERE u.id IN ?1")
+    List<UserSearchHit> findSearchHitsByIds(Collection<Long> ids);
+
+    @Query("SELECT u FROM User u")
+    Slice<User> findSliceBy(Pageable pageable);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
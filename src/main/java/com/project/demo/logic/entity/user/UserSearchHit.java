@@ -0,0 +1,41 @@
+package com.project.demo.logic.entity.user;
+
+public class UserSearchHit {
+    private final Long id;
+    private final String name;
+    private final String lastname;
+    private final String email;
+    private final Integer avatarId;
+
+    public UserSearchHit(Long id, String name, String lastname, String email, Integer avatarId) {
+        this.id = id;
+        this.name = name;
+        this.lastname = lastname;
+        this.email = email;
+        this.avatarId = avatarId;
+    }
+
+    public static UserSearchHit from(User user) {
+        return new UserSearchHit(user.getId(), user.getName(), user.getLastname(), user.getEmail(), user.getAvatarId());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getAvatarId() {
+        return avatarId;
+    }
+}
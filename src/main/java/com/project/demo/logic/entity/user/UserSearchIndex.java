@@ -0,0 +1,387 @@
+package com.project.demo.logic.entity.user;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over user name, lastname and email, replacing
+ * {@code LOWER(name) LIKE %x%} scans. Text is lowercased and stripped of accents. Each query
+ * word of three or more characters narrows the candidates by intersecting its trigram
+ * postings; every candidate is then checked for a real substring match and ranked (exact >
+ * prefix > word prefix > infix, name and lastname above email). Queries with only one- or
+ * two-character words fall back to a linear scan.
+ * <p>
+ * Built at startup and kept current by {@code UserListener}; removed users leave tombstones
+ * that are compacted once they outnumber the live entries. Changes made on other instances are
+ * picked up by a periodic rebuild ({@code users.search.rebuild-interval-ms}).
+ */
+@Component
+public class UserSearchIndex {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final UserRepository userRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+    private Index building;
+    private Set<Long> touchedWhileBuilding;
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public List<UserSearchHit> search(String query, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(UserSearchHit hit) {
+        if (hit.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.put(hit);
+            if (building != null) {
+                building.put(hit);
+                touchedWhileBuilding.add(hit.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(List<UserSearchHit> hits) {
+        hits.forEach(this::put);
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(userId);
+            if (building != null) {
+                building.remove(userId);
+                touchedWhileBuilding.add(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Streams the user table into a fresh index and swaps it in. Writes that arrive during the
+     * build are applied to both indexes and win over the streamed rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${users.search.rebuild-interval-ms:300000}",
+            initialDelayString = "${users.search.rebuild-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Index next = new Index();
+        lock.writeLock().lock();
+        try {
+            building = next;
+            touchedWhileBuilding = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean built = false;
+        try (Stream<UserSearchHit> hits = userRepository.streamSearchHits()) {
+            hits.forEach(hit -> {
+                lock.writeLock().lock();
+                try {
+                    if (!touchedWhileBuilding.contains(hit.getId())) {
+                        next.put(hit);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+            built = true;
+        } finally {
+            // Si la lectura falla se conserva el índice actual
+            lock.writeLock().lock();
+            try {
+                if (built) {
+                    index = next;
+                }
+                building = null;
+                touchedWhileBuilding = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            return Map.of(
+                    "users", index.slots.size(),
+                    "tombstones", index.removed,
+                    "trigrams", index.postings.size()
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private static String[] terms(String query) {
+        String normalized = normalize(query);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static long trigram(String text, int i) {
+        return ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+    }
+
+    private static final class Index {
+        private Doc[] docs = new Doc[1024];
+        private int docCount;
+        private int removed;
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        private void put(UserSearchHit hit) {
+            tombstone(hit.getId());
+
+            if (docCount == docs.length) {
+                docs = Arrays.copyOf(docs, docCount * 2);
+            }
+            int slot = docCount++;
+            Doc doc = new Doc(hit);
+            docs[slot] = doc;
+            slots.put(hit.getId(), slot);
+            addTrigrams(doc.name, slot);
+            addTrigrams(doc.lastname, slot);
+            addTrigrams(doc.email, slot);
+        }
+
+        private void remove(Long userId) {
+            tombstone(userId);
+        }
+
+        private void tombstone(Long userId) {
+            Integer slot = slots.remove(userId);
+            if (slot == null) {
+                return;
+            }
+            docs[slot] = null;
+            removed++;
+            if (removed > 1024 && removed > slots.size()) {
+                compact();
+            }
+        }
+
+        private void compact() {
+            Doc[] live = new Doc[Math.max(1024, slots.size() * 2)];
+            int count = 0;
+            for (int i = 0; i < docCount; i++) {
+                if (docs[i] != null) {
+                    live[count++] = docs[i];
+                }
+            }
+            docs = new Doc[live.length];
+            docCount = 0;
+            removed = 0;
+            slots.clear();
+            postings.clear();
+            for (int i = 0; i < count; i++) {
+                put(live[i].hit);
+            }
+        }
+
+        private void addTrigrams(String field, int slot) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                postings.computeIfAbsent(trigram(field, i), k -> new Postings()).add(slot);
+            }
+        }
+
+        private List<UserSearchHit> search(String[] terms, int limit) {
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, Scored.WORST_FIRST);
+
+            int[] candidates = candidates(terms);
+            if (candidates == null) {
+                for (int slot = 0; slot < docCount; slot++) {
+                    offer(slot, terms, top, limit);
+                }
+            } else {
+                for (int slot : candidates) {
+                    offer(slot, terms, top, limit);
+                }
+            }
+
+            List<UserSearchHit> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                result.add(top.poll().doc.hit);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        /**
+         * @return candidate slots in ascending order, or {@code null} when no term is long
+         * enough to use the index
+         */
+        private int[] candidates(String[] terms) {
+            List<Postings> lists = new ArrayList<>();
+            for (String term : terms) {
+                for (int i = 0; i + 3 <= term.length(); i++) {
+                    Postings list = postings.get(trigram(term, i));
+                    if (list == null) {
+                        return new int[0];
+                    }
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty()) {
+                return null;
+            }
+
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            int[] result = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+            int size = result.length;
+            for (int l = 1; l < lists.size() && size > 0; l++) {
+                size = intersect(result, size, lists.get(l));
+            }
+            return Arrays.copyOf(result, size);
+        }
+
+        private static int intersect(int[] current, int size, Postings other) {
+            int out = 0;
+            int j = 0;
+            for (int i = 0; i < size && j < other.size; i++) {
+                int slot = current[i];
+                while (j < other.size && other.docs[j] < slot) {
+                    j++;
+                }
+                if (j < other.size && other.docs[j] == slot) {
+                    current[out++] = slot;
+                }
+            }
+            return out;
+        }
+
+        private void offer(int slot, String[] terms, PriorityQueue<Scored> top, int limit) {
+            Doc doc = docs[slot];
+            if (doc == null) {
+                return;
+            }
+            int score = 0;
+            for (String term : terms) {
+                int termScore = Math.max(Math.max(fieldScore(doc.name, term, 100), fieldScore(doc.lastname, term, 100)),
+                        fieldScore(doc.email, term, 50));
+                if (termScore == 0) {
+                    return;
+                }
+                score += termScore;
+            }
+
+            Scored scored = new Scored(score, doc);
+            if (top.size() < limit) {
+                top.add(scored);
+            } else if (Scored.WORST_FIRST.compare(scored, top.peek()) > 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        private static int fieldScore(String field, String term, int weight) {
+            int at = field.indexOf(term);
+            if (at < 0) {
+                return 0;
+            }
+            if (at == 0) {
+                return field.length() == term.length() ? weight : weight * 6 / 10;
+            }
+            boolean wordStart = !Character.isLetterOrDigit(field.charAt(at - 1));
+            return wordStart ? weight * 4 / 10 : weight * 2 / 10;
+        }
+    }
+
+    private static final class Doc {
+        private final UserSearchHit hit;
+        private final String name;
+        private final String lastname;
+        private final String email;
+        private final int length;
+
+        private Doc(UserSearchHit hit) {
+            this.hit = hit;
+            this.name = normalize(hit.getName());
+            this.lastname = normalize(hit.getLastname());
+            this.email = normalize(hit.getEmail());
+            this.length = name.length() + lastname.length();
+        }
+    }
+
+    private static final class Scored {
+        // Peor primero: menor puntaje, luego nombre más largo, luego id mayor
+        private static final Comparator<Scored> WORST_FIRST = Comparator
+                .comparingInt((Scored s) -> s.score)
+                .thenComparing(Comparator.comparingInt((Scored s) -> s.doc.length).reversed())
+                .thenComparing(Comparator.comparingLong((Scored s) -> s.doc.hit.getId()).reversed());
+
+        private final int score;
+        private final Doc doc;
+
+        private Scored(int score, Doc doc) {
+            this.score = score;
+            this.doc = doc;
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            // Los slots crecen de forma monótona, así que la lista queda ordenada y sin duplicados
+            if (size > 0 && docs[size - 1] == slot) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = slot;
+        }
+    }
+}
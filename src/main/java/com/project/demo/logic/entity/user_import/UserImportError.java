@@ -0,0 +1,25 @@
+package com.project.demo.logic.entity.user_import;
+
+public class UserImportError {
+    private final long line;
+    private final String email;
+    private final String message;
+
+    public UserImportError(long line, String email, String message) {
+        this.line = line;
+        this.email = email;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
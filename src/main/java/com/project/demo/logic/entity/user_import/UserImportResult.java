@@ -0,0 +1,61 @@
+package com.project.demo.logic.entity.user_import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a roster import. Only the first {@code maxErrors} failures are kept;
+ * {@link #isErrorsTruncated()} tells whether more were dropped.
+ */
+public class UserImportResult {
+    private final int maxErrors;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private boolean stopped;
+    private final List<UserImportError> errors = new ArrayList<>();
+
+    public UserImportResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    void addImported(int count) {
+        imported += count;
+    }
+
+    void addError(long line, String email, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new UserImportError(line, email, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    void markStopped() {
+        stopped = true;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * True when a malformed record or read failure ended the import before the end of the file.
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public List<UserImportError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,345 @@
+package com.project.demo.logic.entity.user_import;
+
+import com.project.demo.logic.entity.auth.BoundedPasswordEncoder;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.rol.RoleRepository;
+import com.project.demo.logic.entity.user.EmailExistenceFilter;
+import com.project.demo.logic.entity.user.TeacherDirectory;
+import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.logic.entity.user.UserSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk user import from CSV. The input is read one record at a time and processed in chunks
+ * of {@code users.import.batch-size}: passwords of a chunk are hashed in parallel on the shared
+ * password-hashing pool, within its bulk quota so logins keep the rest of it, then the chunk is
+ * written with one JDBC batch.
+ * Memory stays bounded by the chunk size whatever the roster length. A chunk whose batch fails
+ * is rolled back and retried row by row, so each failing row gets its own error. A malformed
+ * record stops the import; rows of earlier chunks stay imported and the error is reported in
+ * the result.
+ * <p>
+ * Expected header: {@code name,lastname,email,password,role,active,avatarId}; only
+ * {@code name}, {@code email} and {@code password} are required. Role defaults to USER.
+ */
+@Service
+public class UserImportService {
+    private static final String INSERT_SQL = "INSERT INTO `user` " +
+            "(name, lastname, email, active, avatar_id, password, role_id, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final TeacherDirectory teacherDirectory;
+    private final UserSearchIndex userSearchIndex;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public UserImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            RoleRepository roleRepository,
+            UserRepository userRepository,
+            EmailExistenceFilter emailExistenceFilter,
+            TeacherDirectory teacherDirectory,
+            UserSearchIndex userSearchIndex,
+            BoundedPasswordEncoder passwordEncoder,
+            @Value("${users.import.batch-size:500}") int batchSize,
+            @Value("${users.import.max-errors:1000}") int maxErrors
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roleRepository = roleRepository;
+        this.userRepository = userRepository;
+        this.emailExistenceFilter = emailExistenceFilter;
+        this.teacherDirectory = teacherDirectory;
+        this.userSearchIndex = userSearchIndex;
+        this.passwordEncoder = passwordEncoder;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public UserImportResult importUsers(InputStream input, Set<RoleEnum> allowedRoles) {
+        UserImportResult result = new UserImportResult(maxErrors);
+
+        Map<RoleEnum, Role> roles = new EnumMap<>(RoleEnum.class);
+        for (Role role : roleRepository.findAll()) {
+            roles.put(role.getName(), role);
+        }
+
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        List<PendingUser> chunk = new ArrayList<>(batchSize);
+        try {
+            List<String> header = reader.next();
+            if (header == null) {
+                return result;
+            }
+            Columns columns = Columns.of(header);
+            if (columns.name < 0 || columns.email < 0 || columns.password < 0) {
+                result.addError(reader.getRecordLine(), null, "Header must contain name, email and password");
+                return result;
+            }
+
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                PendingUser pending = parse(record, reader.getRecordLine(), columns, roles, allowedRoles, result);
+                if (pending != null) {
+                    chunk.add(pending);
+                }
+                if (chunk.size() >= batchSize) {
+                    flush(chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // Tras un registro mal formado no se puede seguir leyendo; se guarda lo ya leído
+            result.addError(reader.getRecordLine(), null, "Import stopped: " + e.getMessage());
+            result.markStopped();
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, result);
+        }
+        return result;
+    }
+
+    private PendingUser parse(List<String> record, long line, Columns columns, Map<RoleEnum, Role> roles,
+                              Set<RoleEnum> allowedRoles, UserImportResult result) {
+        String email = columns.get(record, columns.email);
+        String name = columns.get(record, columns.name);
+        String password = columns.get(record, columns.password);
+
+        if (email == null || email.indexOf('@') < 1) {
+            result.addError(line, email, "Invalid email");
+            return null;
+        }
+        if (name == null) {
+            result.addError(line, email, "Name is required");
+            return null;
+        }
+        if (password == null) {
+            result.addError(line, email, "Password is required");
+            return null;
+        }
+
+        RoleEnum roleEnum = RoleEnum.USER;
+        String roleName = columns.get(record, columns.role);
+        if (roleName != null) {
+            try {
+                roleEnum = RoleEnum.valueOf(roleName.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                result.addError(line, email, "Invalid role: " + roleName);
+                return null;
+            }
+        }
+        Role role = roles.get(roleEnum);
+        if (role == null || !allowedRoles.contains(roleEnum)) {
+            result.addError(line, email, "Role not allowed: " + roleEnum);
+            return null;
+        }
+
+        Integer active;
+        Integer avatarId;
+        try {
+            String activeValue = columns.get(record, columns.active);
+            String avatarValue = columns.get(record, columns.avatarId);
+            active = activeValue != null ? Integer.valueOf(activeValue) : 1;
+            avatarId = avatarValue != null ? Integer.valueOf(avatarValue) : null;
+        } catch (NumberFormatException e) {
+            result.addError(line, email, "active and avatarId must be numbers");
+            return null;
+        }
+
+        return new PendingUser(line, name, columns.get(record, columns.lastname), email, active, avatarId,
+                password, role);
+    }
+
+    private void flush(List<PendingUser> chunk, UserImportResult result) {
+        // Correos repetidos dentro del bloque o ya registrados
+        Set<String> seen = new HashSet<>();
+        List<String> toCheck = new ArrayList<>();
+        List<PendingUser> candidates = new ArrayList<>(chunk.size());
+        for (PendingUser pending : chunk) {
+            if (!seen.add(pending.email.toLowerCase(Locale.ROOT))) {
+                result.addError(pending.line, pending.email, "Duplicate email in file");
+                continue;
+            }
+            candidates.add(pending);
+            if (emailExistenceFilter.mightExist(pending.email)) {
+                toCheck.add(pending.email);
+            }
+        }
+        Set<String> existing = new HashSet<>();
+        if (!toCheck.isEmpty()) {
+            for (String email : userRepository.findExistingEmails(toCheck)) {
+                existing.add(email.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        List<Future<String>> hashes = new ArrayList<>(candidates.size());
+        List<PendingUser> accepted = new ArrayList<>(candidates.size());
+        for (PendingUser pending : candidates) {
+            if (existing.contains(pending.email.toLowerCase(Locale.ROOT))) {
+                result.addError(pending.line, pending.email, "Email already registered");
+                continue;
+            }
+            try {
+                hashes.add(passwordEncoder.encodeInBackground(pending.rawPassword));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted.forEach(p -> result.addError(p.line, p.email, "Import interrupted"));
+                result.addError(pending.line, pending.email, "Import interrupted");
+                return;
+            }
+            accepted.add(pending);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(accepted.size());
+        try {
+            for (int i = 0; i < accepted.size(); i++) {
+                PendingUser pending = accepted.get(i);
+                rows.add(new Object[]{
+                        pending.name, pending.lastname, pending.email, pending.active, pending.avatarId,
+                        hashes.get(i).get(), pending.role.getId(), now, now
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted.forEach(p -> result.addError(p.line, p.email, "Import interrupted"));
+            return;
+        } catch (ExecutionException e) {
+            accepted.forEach(p -> result.addError(p.line, p.email, "Password hashing failed"));
+            return;
+        }
+
+        boolean[] inserted = new boolean[accepted.size()];
+        try {
+            // En una transacción: si falla una fila no queda insertada la mitad del lote
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            Arrays.fill(inserted, true);
+        } catch (DataAccessException batchFailure) {
+            for (int i = 0; i < accepted.size(); i++) {
+                PendingUser pending = accepted.get(i);
+                try {
+                    jdbcTemplate.update(INSERT_SQL, rows.get(i));
+                    inserted[i] = true;
+                } catch (DuplicateKeyException e) {
+                    result.addError(pending.line, pending.email, "Email already registered");
+                } catch (DataAccessException e) {
+                    result.addError(pending.line, pending.email, "Insert failed: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        List<String> importedEmails = new ArrayList<>(accepted.size());
+        boolean teachers = false;
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingUser pending = accepted.get(i);
+            if (!inserted[i]) {
+                continue;
+            }
+            importedEmails.add(pending.email);
+            teachers |= pending.role.getName() == RoleEnum.ADMIN;
+            emailExistenceFilter.add(pending.email);
+        }
+        result.addImported(importedEmails.size());
+        // Las inserciones JDBC no pasan por UserListener; se leen los ids generados para el índice
+        if (!importedEmails.isEmpty()) {
+            userSearchIndex.putAll(userRepository.findSearchHitsByEmails(importedEmails));
+        }
+        if (teachers) {
+            teacherDirectory.invalidate();
+        }
+    }
+
+    private static final class PendingUser {
+        private final long line;
+        private final String name;
+        private final String lastname;
+        private final String email;
+        private final Integer active;
+        private final Integer avatarId;
+        private final String rawPassword;
+        private final Role role;
+
+        private PendingUser(long line, String name, String lastname, String email, Integer active,
+                            Integer avatarId, String rawPassword, Role role) {
+            this.line = line;
+            this.name = name;
+            this.lastname = lastname;
+            this.email = email;
+            this.active = active;
+            this.avatarId = avatarId;
+            this.rawPassword = rawPassword;
+            this.role = role;
+        }
+    }
+
+    private static final class Columns {
+        private int name = -1;
+        private int lastname = -1;
+        private int email = -1;
+        private int password = -1;
+        private int role = -1;
+        private int active = -1;
+        private int avatarId = -1;
+
+        private static Columns of(List<String> header) {
+            Columns columns = new Columns();
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                switch (column) {
+                    case "name" -> columns.name = i;
+                    case "lastname" -> columns.lastname = i;
+                    case "email" -> columns.email = i;
+                    case "password" -> columns.password = i;
+                    case "role" -> columns.role = i;
+                    case "active" -> columns.active = i;
+                    case "avatarid", "avatar_id" -> columns.avatarId = i;
+                    default -> {
+                    }
+                }
+            }
+            return columns;
+        }
+
+        private String get(List<String> record, int index) {
+            if (index < 0 || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
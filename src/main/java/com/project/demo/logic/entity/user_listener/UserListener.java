@@ -1,11 +1,19 @@
 package com.project.demo.logic.entity.user_listener;
 
+import com.project.demo.logic.entity.user.EmailExistenceFilter;
 import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserSearchHit;
+import com.project.demo.logic.entity.user.UserSearchIndex;
 import com.project.demo.logic.entity.user_achievement.UserAchievement;
 import com.project.demo.logic.entity.user_achievement.UserAchievementRepository;
 import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Date;
 
@@ -15,6 +23,14 @@ public class UserListener {
     @Autowired
     private UserAchievementRepository userAchievementRepository;
 
+    @Autowired
+    @Lazy
+    private EmailExistenceFilter emailExistenceFilter;
+
+    @Autowired
+    @Lazy
+    private UserSearchIndex userSearchIndex;
+
     /*@PostPersist
     public void onPostPersist(User user) {
         UserAchievement userAchievement = new UserAchievement();
@@ -22,4 +38,35 @@ public class UserListener {
         userAchievement.setAchievedAt(new Date());
         userAchievementRepository.save(userAchievement);
     }*/
+
+    @PostPersist
+    @PostUpdate
+    public void onUserWritten(User user) {
+        String email = user.getEmail();
+        UserSearchHit hit = UserSearchHit.from(user);
+        afterCommit(() -> {
+            emailExistenceFilter.add(email);
+            userSearchIndex.put(hit);
+        });
+    }
+
+    @PostRemove
+    public void onUserRemoved(User user) {
+        Long id = user.getId();
+        afterCommit(() -> userSearchIndex.remove(id));
+    }
+
+    // Los callbacks JPA se ejecutan en el flush; si la transacción se revierte no debe quedar rastro
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,12 @@
+package com.project.demo.logic.exceptions;
+
+/**
+ * Thrown for malformed request parameters. Mapped to HTTP 400 by {@link GlobalExceptionHandler}.
+ */
+public class BadRequestException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.demo.logic.exceptions;
+
+/**
+ * Thrown when a write is based on a stale version of the resource. Mapped to HTTP 409 by
+ * {@link GlobalExceptionHandler}.
+ */
+public class ConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
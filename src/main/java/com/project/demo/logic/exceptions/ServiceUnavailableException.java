@@ -0,0 +1,13 @@
+package com.project.demo.logic.exceptions;
+
+/**
+ * Thrown when a bounded resource (worker pool, queue) is saturated and the request should
+ * be retried later. Mapped to HTTP 503 by {@link GlobalExceptionHandler}.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,18 +1,33 @@
 package com.project.demo.rest.admin;
 
+import com.project.demo.logic.entity.auth.BoundedPasswordEncoder;
+import com.project.demo.logic.entity.auth.JwtService;
+import com.project.demo.logic.entity.auth.PrincipalCache;
+import com.project.demo.logic.entity.game.GameCatalog;
+import com.project.demo.logic.entity.leaderboard.LeaderboardService;
+import com.project.demo.logic.entity.rate_limit.RateLimitFilter;
+import com.project.demo.logic.entity.revoked_token.TokenRevocationService;
+import com.project.demo.logic.entity.score.ScoreIngestionService;
+import com.project.demo.logic.entity.score.UserGameBestBackfill;
 import com.project.demo.logic.entity.rol.Role;
 import com.project.demo.logic.entity.rol.RoleEnum;
 import com.project.demo.logic.entity.rol.RoleRepository;
+import com.project.demo.logic.entity.user.EmailExistenceFilter;
+import com.project.demo.logic.entity.user.TeacherDirectory;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.logic.entity.user.UserSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @RequestMapping("/admin")
@@ -28,6 +43,42 @@ public class AdminController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private TeacherDirectory teacherDirectory;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private ScoreIngestionService scoreIngestionService;
+
+    @Autowired
+    private UserGameBestBackfill userGameBestBackfill;
+
+    @Autowired
+    private GameCatalog gameCatalog;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @PostMapping
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public User createAdministrator(@RequestBody User newAdminUser) {
@@ -43,6 +94,36 @@ public class AdminController {
         user.setPassword(passwordEncoder.encode(newAdminUser.getPassword()));
         user.setRole(optionalRole.get());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        teacherDirectory.invalidate();
+        return savedUser;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("principalCache", principalCache.stats());
+        stats.put("tokenCache", jwtService.tokenCacheStats());
+        stats.put("passwordHashing", boundedPasswordEncoder.stats());
+        stats.put("emailFilter", emailExistenceFilter.stats());
+        stats.put("revocations", tokenRevocationService.stats());
+        stats.put("rateLimits", rateLimitFilter.stats());
+        stats.put("teacherDirectory", teacherDirectory.stats());
+        stats.put("userSearch", userSearchIndex.stats());
+        stats.put("scoreIngestion", scoreIngestionService.stats());
+        stats.put("userGameBestBackfill", userGameBestBackfill.stats());
+        stats.put("gameCatalog", gameCatalog.stats());
+        stats.put("leaderboards", leaderboardService.stats());
+        return stats;
+    }
+
+    @PostMapping("/score-best/backfill")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public Map<String, Object> backfillUserGameBest() {
+        long rows = userGameBestBackfill.backfill();
+        Map<String, Object> result = new LinkedHashMap<>(userGameBestBackfill.stats());
+        result.put("rows", rows);
+        return result;
     }
 }
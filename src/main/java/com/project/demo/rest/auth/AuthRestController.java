@@ -1,14 +1,20 @@
 package com.project.demo.rest.auth;
 
 import com.project.demo.logic.entity.auth.AuthenticationService;
+import com.project.demo.logic.entity.auth.JwtClaims;
 import com.project.demo.logic.entity.auth.JwtService;
+import com.project.demo.logic.entity.auth.PrincipalCache;
+import com.project.demo.logic.entity.password_reset.PasswordResetService;
+import com.project.demo.logic.entity.revoked_token.TokenRevocationService;
 import com.project.demo.logic.entity.rol.Role;
 import com.project.demo.logic.entity.rol.RoleEnum;
 import com.project.demo.logic.entity.rol.RoleRepository;
+import com.project.demo.logic.entity.user.EmailExistenceFilter;
 import com.project.demo.logic.entity.user.LoginResponse;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,12 +22,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import java.util.Map;
-import java.util.UUID;
 
 import java.util.Optional;
 
@@ -40,7 +44,16 @@ public class AuthRestController {
     private RoleRepository roleRepository;
 
     @Autowired
-    private JavaMailSender mailSender;
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
     private final AuthenticationService authenticationService;
     private final JwtService jwtService;
@@ -59,18 +72,29 @@ public class AuthRestController {
         LoginResponse loginResponse = new LoginResponse();
         loginResponse.setToken(jwtToken);
         loginResponse.setExpiresIn(jwtService.getExpirationTime());
+        loginResponse.setAuthUser(authenticatedUser);
 
-        Optional<User> foundedUser = userRepository.findByEmail(user.getEmail());
+        return ResponseEntity.ok(loginResponse);
+    }
 
-        foundedUser.ifPresent(loginResponse::setAuthUser);
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Missing bearer token");
+        }
 
-        return ResponseEntity.ok(loginResponse);
+        String token = authHeader.substring(7);
+        JwtClaims claims = jwtService.validateToken(token);
+        tokenRevocationService.revokeToken(claims);
+        jwtService.evictToken(token);
+
+        return ResponseEntity.ok("Logged out");
     }
 
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@RequestBody User user) {
-        Optional<User> existingUser = userRepository.findByEmail(user.getEmail());
-        if (existingUser.isPresent()) {
+        if (emailExistenceFilter.mightExist(user.getEmail())
+                && userRepository.findByEmail(user.getEmail()).isPresent()) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already in use");
         }
 
@@ -87,7 +111,13 @@ public class AuthRestController {
         user.setActive(1);
         user.setAvatarId(1);
         user.setRole(optionalRole.get());
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // El filtro puede no conocer aún un correo registrado desde otra instancia
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already in use");
+        }
         return ResponseEntity.ok(savedUser);
     }
 
@@ -97,25 +127,7 @@ public class AuthRestController {
         Optional<User> userOpt = userRepository.findByEmail(email);
 
         if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            String token = UUID.randomUUID().toString();
-            user.setResetToken(token);
-            userRepository.save(user);
-
-            SimpleMailMessage mailMessage = new SimpleMailMessage();
-            mailMessage.setTo(user.getEmail());
-            mailMessage.setSubject("Recuperación de contraseña de aplicación MindMat");
-            mailMessage.setText(
-                    "Estimado Usuario:\n\n"+
-                    "Este correo es para cambiar tu contraseña en la aplicación MindMat.\n\n" +
-                            "Si solicitaste un cambio de contraseña, haz clic en el siguiente enlace para restablecerla:\n" +
-                            "http://localhost:4200/reset-password?token=" + token + "\n\n" +
-                            "Si no solicitaste este cambio, ignora este mensaje o ponte en contacto con el soporte.\n\n" +
-                            "Saludos,\n" +
-                            "El equipo de MindMat"
-            );
-
-            mailSender.send(mailMessage);
+            passwordResetService.requestReset(userOpt.get());
             return ResponseEntity.ok("Correo enviado");
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Correo no registrado");
@@ -127,13 +139,10 @@ public class AuthRestController {
         String token = request.get("token");
         String newPassword = request.get("newPassword");
 
-        Optional<User> userOpt = userRepository.findByResetToken(token);
+        Optional<User> userOpt = passwordResetService.resetPassword(token, newPassword);
 
         if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setPassword(passwordEncoder.encode(newPassword));
-            user.setResetToken(null); // Limpiar el token después de cambiar la contraseña
-            userRepository.save(user);
+            principalCache.invalidate(userOpt.get().getEmail());
             return ResponseEntity.ok("Contraseña actualizada");
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Token inválido");
@@ -142,7 +151,9 @@ public class AuthRestController {
 
     @GetMapping("/check-email")
     public ResponseEntity<String> checkEmailExists(@RequestParam String email) {
-        boolean emailExists = userRepository.findByEmail(email).isPresent();
+        // El filtro descarta sin consultar la base de datos los correos que no existen
+        boolean emailExists = emailExistenceFilter.mightExist(email)
+                && userRepository.findByEmail(email).isPresent();
 
         if (emailExists) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already in use");
@@ -4,6 +4,7 @@ import com.project.demo.logic.entity.category.Category;
 import com.project.demo.logic.entity.category.CategoryRepository;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.Pagination;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,18 +38,17 @@ public class CategoryRestController {
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean count,
             HttpServletRequest request) {
 
-            Pageable pageable = PageRequest.of(page-1, size);
-            Page<Category> categoriesPage = categoryRepository.findAll(pageable);
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(categoriesPage.getTotalPages());
-            meta.setTotalElements(categoriesPage.getTotalElements());
-            meta.setPageNumber(categoriesPage.getNumber() + 1);
-            meta.setPageSize(categoriesPage.getSize());
+            List<Category> categories = Pagination.fetch(page, size, cursor, count, meta,
+                    categoryRepository::findAll, categoryRepository::findSliceBy,
+                    categoryRepository::findByIdGreaterThanOrderByIdAsc, categoryRepository::count, Category::getId);
 
             return new GlobalResponseHandler().handleResponse("Category retrieved successfully",
-                    categoriesPage.getContent(), HttpStatus.OK, meta);
+                    categories, HttpStatus.OK, meta);
     }
 
     @PostMapping
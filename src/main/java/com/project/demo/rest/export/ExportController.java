@@ -0,0 +1,67 @@
+package com.project.demo.rest.export;
+
+import com.project.demo.logic.entity.export.ExportFormat;
+import com.project.demo.logic.entity.export.ExportService;
+import com.project.demo.logic.entity.team.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Date;
+
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @GetMapping("/users")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return attachment("users", exportFormat, exportService.exportUsers(exportFormat));
+    }
+
+    @GetMapping("/scores")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportScores(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long gameId,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return attachment("scores", exportFormat, exportService.exportScores(exportFormat, gameId, teamId, from, to));
+    }
+
+    @GetMapping("/teams/{teamId}/roster")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTeamRoster(
+            @PathVariable Long teamId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        if (!teamRepository.existsById(teamId)) {
+            return ResponseEntity.notFound().build();
+        }
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return attachment("team-" + teamId + "-roster", exportFormat, exportService.exportTeamRoster(exportFormat, teamId));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.demo.rest.game;
 
 import com.project.demo.logic.entity.game.Game;
+import com.project.demo.logic.entity.game.GameCatalog;
 import com.project.demo.logic.entity.game.GameRepository;
 import com.project.demo.logic.entity.rol.Role;
 import com.project.demo.logic.entity.rol.RoleEnum;
@@ -19,6 +20,9 @@ public class GameRestController {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private GameCatalog gameCatalog;
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'USER')")
     public List<Game> getAllGames(){
@@ -28,7 +32,7 @@ public class GameRestController {
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     public Game updateGame(@PathVariable Long id, @RequestBody Game game) {
-        return gameRepository.findById(id)
+        Game saved = gameRepository.findById(id)
                 .map(existingGame -> {
                     existingGame.setName(game.getName());
                     existingGame.setDescription(game.getDescription());
@@ -40,18 +44,23 @@ public class GameRestController {
                     game.setId(id);
                     return gameRepository.save(game);
                 });
+        gameCatalog.refresh();
+        return saved;
     }
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     public Game addGame(@RequestBody Game game) {
-        return  gameRepository.save(game);
+        Game saved = gameRepository.save(game);
+        gameCatalog.refresh();
+        return saved;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     @DeleteMapping("/{id}")
     public void deleteGame (@PathVariable Long id) {
         gameRepository.deleteById(id);
+        gameCatalog.refresh();
     }
 
 }
@@ -0,0 +1,121 @@
+package com.project.demo.rest.leaderboard;
+
+import com.project.demo.logic.entity.auth.AuthenticatedPrincipal;
+import com.project.demo.logic.entity.auth.AuthenticatedUserService;
+import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.logic.entity.leaderboard.LeaderboardEntry;
+import com.project.demo.logic.entity.leaderboard.LeaderboardService;
+import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.logic.entity.user.UserSearchHit;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/leaderboards")
+public class LeaderboardController {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private AuthenticatedUserService authenticatedUserService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @GetMapping("/global")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getGlobalTop(
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest request) {
+        return top(null, limit, request);
+    }
+
+    @GetMapping("/global/me")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getGlobalStanding(
+            @RequestParam(defaultValue = "5") int around,
+            Authentication authentication,
+            HttpServletRequest request) {
+        return standing(null, around, authentication, request);
+    }
+
+    @GetMapping("/games/{gameId}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getGameTop(
+            @PathVariable Long gameId,
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest request) {
+        return top(gameId, limit, request);
+    }
+
+    @GetMapping("/games/{gameId}/me")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getGameStanding(
+            @PathVariable Long gameId,
+            @RequestParam(defaultValue = "5") int around,
+            Authentication authentication,
+            HttpServletRequest request) {
+        return standing(gameId, around, authentication, request);
+    }
+
+    private ResponseEntity<?> top(Long gameId, int limit, HttpServletRequest request) {
+        List<LeaderboardEntry> entries = leaderboardService.top(gameId, Math.min(Math.max(limit, 1), 100));
+        withProfiles(entries);
+        return new GlobalResponseHandler().handleResponse("Leaderboard retrieved successfully", entries, HttpStatus.OK, request);
+    }
+
+    private ResponseEntity<?> standing(Long gameId, int around, Authentication authentication, HttpServletRequest request) {
+        AuthenticatedPrincipal user = authenticatedUserService.getPrincipal(authentication);
+        List<LeaderboardEntry> entries = leaderboardService.around(gameId, user.getId(), Math.min(Math.max(around, 0), 50));
+        if (entries.isEmpty()) {
+            return new GlobalResponseHandler().handleResponse("No score found for the current user", HttpStatus.NOT_FOUND, request);
+        }
+        withProfiles(entries);
+
+        Map<String, Object> standing = new LinkedHashMap<>();
+        for (LeaderboardEntry entry : entries) {
+            if (entry.getUserId() == user.getId()) {
+                standing.put("rank", entry.getRank());
+                standing.put("me", entry);
+            }
+        }
+        standing.put("neighbours", entries);
+        return new GlobalResponseHandler().handleResponse("Standing retrieved successfully", standing, HttpStatus.OK, request);
+    }
+
+    private void withProfiles(List<LeaderboardEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) {
+            ids.add(entry.getUserId());
+        }
+        Map<Long, UserSearchHit> profiles = new HashMap<>();
+        for (UserSearchHit hit : userRepository.findSearchHitsByIds(ids)) {
+            profiles.put(hit.getId(), hit);
+        }
+        for (LeaderboardEntry entry : entries) {
+            UserSearchHit hit = profiles.get(entry.getUserId());
+            if (hit != null) {
+                entry.setProfile(hit.getName(), hit.getLastname(), hit.getAvatarId());
+            }
+        }
+    }
+}
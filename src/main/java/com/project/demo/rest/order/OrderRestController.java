@@ -2,6 +2,7 @@ package com.project.demo.rest.order;
 
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.Pagination;
 import com.project.demo.logic.entity.order.Order;
 import com.project.demo.logic.entity.order.OrderRepository;
 import com.project.demo.logic.entity.user.User;
@@ -16,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -32,18 +34,17 @@ public class OrderRestController {
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean count,
             HttpServletRequest request) {
 
-            Pageable pageable = PageRequest.of(page-1, size);
-            Page<Order> ordersPage = orderRepository.findAll(pageable);
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(ordersPage.getTotalPages());
-            meta.setTotalElements(ordersPage.getTotalElements());
-            meta.setPageNumber(ordersPage.getNumber() + 1);
-            meta.setPageSize(ordersPage.getSize());
+            List<Order> orders = Pagination.fetch(page, size, cursor, count, meta,
+                    orderRepository::findAll, orderRepository::findSliceBy,
+                    orderRepository::findByIdGreaterThanOrderByIdAsc, orderRepository::count, Order::getId);
 
             return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
-                    ordersPage.getContent(), HttpStatus.OK, meta);
+                    orders, HttpStatus.OK, meta);
     }
 
     @GetMapping("/user/{userId}/orders")
@@ -51,22 +52,22 @@ public class OrderRestController {
     public ResponseEntity<?> getAllByUser (@PathVariable Long userId,
                                            @RequestParam(defaultValue = "1") int page,
                                            @RequestParam(defaultValue = "10") int size,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Boolean count,
                                            HttpServletRequest request) {
         Optional<User> foundUser = userRepository.findById(userId);
         if(foundUser.isPresent()) {
 
-
-            Pageable pageable = PageRequest.of(page-1, size);
-            Page<Order> ordersPage = orderRepository.getOrderByUserId(userId, pageable);
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(ordersPage.getTotalPages());
-            meta.setTotalElements(ordersPage.getTotalElements());
-            meta.setPageNumber(ordersPage.getNumber() + 1);
-            meta.setPageSize(ordersPage.getSize());
-
+            List<Order> orders = Pagination.fetch(page, size, cursor, count, meta,
+                    pageable -> orderRepository.getOrderByUserId(userId, pageable),
+                    pageable -> orderRepository.findSliceByUserId(userId, pageable),
+                    (afterId, pageable) -> orderRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, afterId, pageable),
+                    () -> orderRepository.countByUserId(userId),
+                    Order::getId);
 
             return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
-                    ordersPage.getContent(), HttpStatus.OK, meta);
+                    orders, HttpStatus.OK, meta);
         } else {
             return new GlobalResponseHandler().handleResponse("User id " + userId + " not found"  ,
                     HttpStatus.NOT_FOUND, request);
@@ -3,6 +3,7 @@ package com.project.demo.rest.product;
 import com.project.demo.logic.entity.category.Category;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.Pagination;
 import com.project.demo.logic.entity.product.Product;
 import com.project.demo.logic.entity.product.ProductRepository;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,18 +32,17 @@ public class ProductRestController {
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean count,
             HttpServletRequest request) {
 
-        Pageable pageable = PageRequest.of(page-1, size);
-        Page<Product> productsPage = productRepository.findAll(pageable);
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(productsPage.getTotalPages());
-        meta.setTotalElements(productsPage.getTotalElements());
-        meta.setPageNumber(productsPage.getNumber() + 1);
-        meta.setPageSize(productsPage.getSize());
+        List<Product> products = Pagination.fetch(page, size, cursor, count, meta,
+                productRepository::findAll, productRepository::findSliceBy,
+                productRepository::findByIdGreaterThanOrderByIdAsc, productRepository::count, Product::getId);
 
         return new GlobalResponseHandler().handleResponse("Product retrieved successfully",
-                productsPage.getContent(), HttpStatus.OK, meta);
+                products, HttpStatus.OK, meta);
     }
 
     @PostMapping
@@ -1,36 +1,43 @@
 package com.project.demo.rest.score;
-import com.project.demo.logic.entity.game.Game;
-import com.project.demo.logic.entity.game.GameRepository;
+import com.project.demo.logic.entity.auth.AuthenticatedPrincipal;
+import com.project.demo.logic.entity.auth.AuthenticatedUserService;
+import com.project.demo.logic.entity.game.GameCatalog;
+import com.project.demo.logic.entity.score.GameAchievement;
 import com.project.demo.logic.entity.score.Score;
+import com.project.demo.logic.entity.score.ScoreIngestionService;
+import com.project.demo.logic.entity.score.UserGameBestBackfill;
+import com.project.demo.logic.entity.score.UserGameBestRepository;
 import com.project.demo.logic.entity.score.ScoreRepository;
 import com.project.demo.logic.entity.user.User;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Comparator;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.HashSet;
 
 
-@Transactional
 @RestController
 @RequestMapping("/score")
 public class ScoreRestController {
     @Autowired
     private ScoreRepository scoreRepository;
     @Autowired
-    private GameRepository gameRepository;
+    private GameCatalog gameCatalog;
+    @Autowired
+    private AuthenticatedUserService authenticatedUserService;
+    @Autowired
+    private ScoreIngestionService scoreIngestionService;
+    @Autowired
+    private UserGameBestRepository userGameBestRepository;
+    @Autowired
+    private UserGameBestBackfill userGameBestBackfill;
     @PostMapping
     @PreAuthorize("hasAnyRole('USER','ADMIN', 'SUPER_ADMIN')")
     public Score insertScore(@RequestBody Score newScore, Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        User user = authenticatedUserService.toDetachedUser(authentication);
         newScore.setUser(user);
 
         System.out.println("=== Datos enviados al procedimiento ===");
@@ -42,7 +49,7 @@ public class ScoreRestController {
         System.out.println("Wrong Answers: " + newScore.getWrongAnswers());
 
         newScore.getUser().setPassword(null);
-        newScore.setStars(scoreRepository.insertScore(newScore.getGame().getId(), newScore.getObtainedAt(), newScore.getRightAnswers(), newScore.getTimeTaken(),newScore.getUser().getId(), newScore.getWrongAnswers()));
+        scoreIngestionService.ingest(newScore, user.getId());
 
         /*int stars = scoreRepository.insertScore(
                 newScore.getGame().getId(),
@@ -65,37 +72,38 @@ public class ScoreRestController {
 
     @GetMapping("/achievements")
     @PreAuthorize("hasAnyRole('USER','ADMIN', 'SUPER_ADMIN')")
-    public List<Map<String, Object>> getAchievements(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        List<Object[]> scores = scoreRepository.findMaxStarsByUser(user.getId());
-        List<Game> allGames = gameRepository.findAll();
-
-        if (scores.isEmpty()) {
-            return new ArrayList<>(); // O devuelve un mensaje personalizado si es necesario
+    public List<GameAchievement> getAchievements(Authentication authentication) {
+        AuthenticatedPrincipal user = authenticatedUserService.getPrincipal(authentication);
+        List<Object[]> best;
+        if (userGameBestBackfill.isComplete()) {
+            best = userGameBestRepository.findBestStarsByUser(user.getId());
+        } else {
+            // Mientras el backfill no termina user_game_best puede estar incompleto: se agrega score
+            best = new ArrayList<>();
+            for (Object[] row : scoreRepository.findMaxStarsByUser(user.getId())) {
+                best.add(new Object[]{row[0], row[2] == null ? 0 : row[2]});
+            }
+            best.sort(Comparator.comparing(row -> (Long) row[0]));
         }
 
-        List<Map<String, Object>> achievements = new ArrayList<>();
-
-        Set<Long> playedGameIds = scores.stream()
-                .map(score -> (Long) score[0])
-                .collect(Collectors.toSet());
-
-        for (Object[] score : scores) {
-            Map<String, Object> achievement = new HashMap<>();
-            achievement.put("gameId", score[0]); // ID del juego
-            achievement.put("gameName", score[1]); // Nombre del juego
-            achievement.put("stars", score[2]); // Máxima cantidad de estrellas
-            achievements.add(achievement);
+        if (best.isEmpty()) {
+            return new ArrayList<>(); // O devuelve un mensaje personalizado si es necesario
         }
 
-        for (Game game : allGames) {
-            if (!playedGameIds.contains(game.getId())) {
-                Map<String, Object> achievement = new HashMap<>();
-                achievement.put("gameId", game.getId()); // ID del juego
-                achievement.put("gameName", game.getName()); // Nombre del juego
-                achievement.put("stars", 0); // Sin estrellas
-                achievements.add(achievement);
+        // Ambas listas vienen ordenadas por gameId: se recorren a la vez, juegos sin puntaje quedan en 0
+        GameCatalog.Snapshot games = gameCatalog.snapshot();
+        List<GameAchievement> achievements = new ArrayList<>(games.size());
+        int next = 0;
+        for (int i = 0; i < games.size(); i++) {
+            long gameId = games.idAt(i);
+            while (next < best.size() && (Long) best.get(next)[0] < gameId) {
+                next++;
+            }
+            int stars = 0;
+            if (next < best.size() && (Long) best.get(next)[0] == gameId) {
+                stars = (Integer) best.get(next)[1];
             }
+            achievements.add(new GameAchievement(gameId, games.nameAt(i), stars));
         }
 
         return achievements;
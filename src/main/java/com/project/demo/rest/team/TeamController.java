@@ -1,5 +1,7 @@
 package com.project.demo.rest.team;
 
+import com.project.demo.logic.entity.auth.AuthenticatedPrincipal;
+import com.project.demo.logic.entity.auth.AuthenticatedUserService;
 import com.project.demo.logic.entity.rol.Role;
 import com.project.demo.logic.entity.rol.RoleEnum;
 import com.project.demo.logic.entity.team.Team;
@@ -29,17 +31,20 @@ public class TeamController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthenticatedUserService authenticatedUserService;
+
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     public ResponseEntity<Map<String, String>> createTeam(@RequestBody Team team, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal currentUser = authenticatedUserService.getPrincipal(authentication);
         Map<String, String> response = new HashMap<>();
 
         // Si el usuario es ADMIN (docente), asignarlo automáticamente como Teacher Leader
-        if (currentUser.getRole().getName() == RoleEnum.ADMIN) {
-            team.setTeacherLeader(currentUser);
-        } else if (currentUser.getRole().getName() == RoleEnum.SUPER_ADMIN) {
+        if (currentUser.getRoleName() == RoleEnum.ADMIN) {
+            team.setTeacherLeader(authenticatedUserService.getReference(authentication));
+        } else if (currentUser.getRoleName() == RoleEnum.SUPER_ADMIN) {
             // Validar teacherLeader asignado
             if (team.getTeacherLeader() == null || team.getTeacherLeader().getId() == null) {
                 response.put("error", "El equipo debe tener un docente líder asignado.");
@@ -68,7 +73,7 @@ public class TeamController {
     @PutMapping("/{id}/addStudent")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     public ResponseEntity<String> addStudentToTeam(@PathVariable Long id, @RequestBody User student, Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal user = authenticatedUserService.getPrincipal(authentication);
 
         Optional<Team> teamOptional = teamRepository.findById(id);
         if (teamOptional.isPresent()) {
@@ -125,7 +130,7 @@ public class TeamController {
     @PutMapping("/{id}/removeStudent")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     public ResponseEntity<String> removeStudentFromTeam(@PathVariable Long id, @RequestBody User student, Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal user = authenticatedUserService.getPrincipal(authentication);
 
         Optional<Team> teamOptional = teamRepository.findById(id);
         if (teamOptional.isPresent()) {
@@ -206,10 +211,10 @@ public class TeamController {
     @GetMapping("/byTeacher")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getTeamsByTeacher(Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal currentUser = authenticatedUserService.getPrincipal(authentication);
 
         // Superadmin ve todos los equipos
-        if (currentUser.getRole().getName() == RoleEnum.SUPER_ADMIN) {
+        if (currentUser.getRoleName() == RoleEnum.SUPER_ADMIN) {
             List<Team> allTeams = teamRepository.findAll();
             return ResponseEntity.ok(allTeams.stream().map(team -> Map.of(
                     "id", team.getId(),
@@ -224,7 +229,7 @@ public class TeamController {
         }
 
         // Docente (role: ADMIN) solo ve sus propios equipos
-        if (currentUser.getRole().getName() == RoleEnum.ADMIN) {
+        if (currentUser.getRoleName() == RoleEnum.ADMIN) {
             List<Team> teams = teamRepository.findByTeacherLeader_Id(currentUser.getId());
             if (teams.isEmpty()) {
                 return ResponseEntity.status(404).body("No se encontraron equipos para este docente.");
@@ -263,11 +268,11 @@ public class TeamController {
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getAllTeams(Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal currentUser = authenticatedUserService.getPrincipal(authentication);
 
         List<Map<String, Object>> response;
 
-        if (currentUser.getRole().getName() == RoleEnum.ADMIN || currentUser.getRole().getName() == RoleEnum.SUPER_ADMIN) {
+        if (currentUser.getRoleName() == RoleEnum.ADMIN || currentUser.getRoleName() == RoleEnum.SUPER_ADMIN) {
             List<Team> allTeams = teamRepository.findAll();
 
             response = allTeams.stream()
@@ -297,9 +302,9 @@ public class TeamController {
                             "description", team.getDescription(),
                             "avatarId", team.getAvatarId() != null ? team.getAvatarId() : 0,
                             "teacherLeader", Map.of(
-                                    "id", currentUser.getId(),
-                                    "name", currentUser.getName(),
-                                    "lastname", currentUser.getLastname()
+                                    "id", team.getTeacherLeader().getId(),
+                                    "name", team.getTeacherLeader().getName(),
+                                    "lastname", team.getTeacherLeader().getLastname()
                             )
                     ))
                     .toList();
@@ -315,10 +320,10 @@ public class TeamController {
 
         if (teamOptional.isPresent()) {
             Team team = teamOptional.get();
-            User currentUser = (User) authentication.getPrincipal();
+            AuthenticatedPrincipal currentUser = authenticatedUserService.getPrincipal(authentication);
 
             // Verificar permisos para eliminar el equipo
-            if (currentUser.getRole().getName() == RoleEnum.ADMIN &&
+            if (currentUser.getRoleName() == RoleEnum.ADMIN &&
                     !team.getTeacherLeader().getId().equals(currentUser.getId())) {
                 return ResponseEntity.status(403).body("No tienes permiso para eliminar este equipo.");
             }
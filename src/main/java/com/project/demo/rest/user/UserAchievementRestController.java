@@ -4,6 +4,7 @@ import com.project.demo.logic.entity.achievement.Achievement;
 import com.project.demo.logic.entity.achievement.AchievementRepository;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.Pagination;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
 import com.project.demo.logic.entity.user_achievement.UserAchievement;
@@ -38,20 +39,18 @@ public class UserAchievementRestController {
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean count,
             HttpServletRequest request) {
 
-        Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Achievement> achievementsPage = achievementRepository.findAll(pageable);
-
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(achievementsPage.getTotalPages());
-        meta.setTotalElements(achievementsPage.getTotalElements());
-        meta.setPageNumber(achievementsPage.getNumber() + 1);
-        meta.setPageSize(achievementsPage.getSize());
+        List<Achievement> achievements = Pagination.fetch(page, size, cursor, count, meta,
+                achievementRepository::findAll, achievementRepository::findSliceBy,
+                achievementRepository::findByIdGreaterThanOrderByIdAsc, achievementRepository::count, Achievement::getId);
 
         return new GlobalResponseHandler().handleResponse(
                 "Achievements retrieved successfully",
-                achievementsPage.getContent(),
+                achievements,
                 HttpStatus.OK,
                 meta
         );
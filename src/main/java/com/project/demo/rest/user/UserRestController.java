@@ -1,12 +1,23 @@
 package com.project.demo.rest.user;
 
+import com.project.demo.logic.entity.auth.AuthenticatedUserService;
+import com.project.demo.logic.entity.auth.PrincipalCache;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.Pagination;
 import com.project.demo.logic.entity.rol.Role;
 import com.project.demo.logic.entity.rol.RoleEnum;
 import com.project.demo.logic.entity.rol.RoleRepository;
+import com.project.demo.logic.entity.revoked_token.TokenRevocationService;
+import com.project.demo.logic.entity.user.TeacherDirectory;
+import com.project.demo.logic.entity.user.UserActivationService;
+import com.project.demo.logic.entity.user.UserProfileService;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.logic.entity.user.UserSearchHit;
+import com.project.demo.logic.entity.user.UserSearchIndex;
+import com.project.demo.logic.entity.user_import.UserImportResult;
+import com.project.demo.logic.entity.user_import.UserImportService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -21,13 +32,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Map;
+import java.io.IOException;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
-
-
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/users")
@@ -38,24 +48,39 @@ public class UserRestController {
     private RoleRepository roleRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private AuthenticatedUserService authenticatedUserService;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    @Autowired
+    private TeacherDirectory teacherDirectory;
+    @Autowired
+    private UserImportService userImportService;
+    @Autowired
+    private UserActivationService userActivationService;
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    @Autowired
+    private UserProfileService userProfileService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean count,
             HttpServletRequest request) {
 
-        Pageable pageable = PageRequest.of(page-1, size);
-        Page<User> ordersPage = userRepository.findAll(pageable);
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(ordersPage.getTotalPages());
-        meta.setTotalElements(ordersPage.getTotalElements());
-        meta.setPageNumber(ordersPage.getNumber() + 1);
-        meta.setPageSize(ordersPage.getSize());
+        List<User> users = Pagination.fetch(page, size, cursor, count, meta,
+                userRepository::findAll, userRepository::findSliceBy,
+                userRepository::findByIdGreaterThanOrderByIdAsc, userRepository::count, User::getId);
 
         return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
-                ordersPage.getContent(), HttpStatus.OK, meta);
+                users, HttpStatus.OK, meta);
     }
 
     @PostMapping
@@ -92,7 +117,21 @@ public class UserRestController {
         user.setAvatarId(Integer.valueOf(requestData.get("avatarId").toString()));
 
         // Guardar y devolver el usuario creado
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        teacherDirectory.invalidate();
+        return savedUser;
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> importUsers(HttpServletRequest request, Authentication authentication) throws IOException {
+        // Solo un SUPER_ADMIN puede importar docentes o administradores
+        boolean superAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_SUPER_ADMIN".equals(authority.getAuthority()));
+        Set<RoleEnum> allowedRoles = superAdmin ? EnumSet.allOf(RoleEnum.class) : EnumSet.of(RoleEnum.USER);
+
+        UserImportResult result = userImportService.importUsers(request.getInputStream(), allowedRoles);
+        return new GlobalResponseHandler().handleResponse("Users imported", result, HttpStatus.OK, request);
     }
 
     @PutMapping("/{userId}")
@@ -102,6 +141,7 @@ public class UserRestController {
 
         if (optionalUser.isPresent()) {
             User existingUser = optionalUser.get();
+            principalCache.invalidate(existingUser.getEmail());
 
             // Actualizar campos según los valores del JSON
             if (requestData.containsKey("name")) {
@@ -139,6 +179,8 @@ public class UserRestController {
 
             // Guardar usuario actualizado
             userRepository.save(existingUser);
+            principalCache.invalidate(existingUser.getEmail());
+            teacherDirectory.invalidate();
 
             return new GlobalResponseHandler().handleResponse(
                     "User updated successfully",
@@ -160,40 +202,14 @@ public class UserRestController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> updatePartialAuthenticatedUser(@RequestBody Map<String, Object> updates, HttpServletRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
-
-        updates.forEach((key, value) -> {
-            try {
-                switch (key) {
-                    case "name":
-                        user.setName((String) value);
-                        break;
-                    case "lastname":
-                        user.setLastname((String) value);
-                        break;
-                    case "email":
-                        user.setEmail((String) value);
-                        break;
-                    case "password":
-                        if (value != null && !((String) value).isEmpty()) {
-                            user.setPassword(passwordEncoder.encode((String) value));
-                        }
-                        break;
-                    case "active":
-                        user.setActive(Integer.parseInt(value.toString())); // Convierte a Integer si es necesario
-                        break;
-                    case "avatarId":
-                        user.setAvatarId(Integer.parseInt(value.toString())); // Convierte a Integer si es necesario
-                        break;
-                    // Añadir otros campos si es necesario
-                }
-            } catch (ClassCastException | NumberFormatException e) {
-                // Maneja errores de conversión aquí
-                System.out.println("Error de conversión en el campo: " + key + " con valor: " + value);
-            }
-        });
+        Long userId = authenticatedUserService.getPrincipal(authentication).getId();
 
-        userRepository.save(user);
+        User user = userProfileService.updateProfile(userId, updates);
+        principalCache.invalidate(authentication.getName());
+        principalCache.invalidate(user.getEmail());
+        if (user.getRole() != null && user.getRole().getName() == RoleEnum.ADMIN) {
+            teacherDirectory.invalidate();
+        }
         return new GlobalResponseHandler().handleResponse("User profile updated successfully", user, HttpStatus.OK, request);
     }
 
@@ -205,6 +221,9 @@ public class UserRestController {
         Optional<User> foundOrder = userRepository.findById(userId);
         if(foundOrder.isPresent()) {
             userRepository.deleteById(userId);
+            principalCache.invalidate(foundOrder.get().getEmail());
+            tokenRevocationService.revokeSubject(foundOrder.get().getEmail());
+            teacherDirectory.invalidate();
             return new GlobalResponseHandler().handleResponse("User deleted successfully",
                     foundOrder.get(), HttpStatus.OK, request);
         } else {
@@ -217,7 +236,7 @@ public class UserRestController {
     @PreAuthorize("isAuthenticated()")
     public User authenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return (User) authentication.getPrincipal();
+        return authenticatedUserService.loadUser(authentication);
     }
 
     @PutMapping("/{userId}/active")
@@ -242,6 +261,11 @@ public class UserRestController {
             // Actualizar el valor de active
             user.setActive(newActiveStatus);
             userRepository.save(user);
+            principalCache.invalidate(user.getEmail());
+            if (newActiveStatus == 0) {
+                tokenRevocationService.revokeSubject(user.getEmail());
+            }
+            teacherDirectory.invalidate();
 
             return new GlobalResponseHandler().handleResponse(
                     "User active status updated successfully", user, HttpStatus.OK, request);
@@ -251,10 +275,62 @@ public class UserRestController {
         }
     }
 
+    @PutMapping("/active")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> updateActiveStatusBulk(@RequestBody Map<String, Object> requestBody,
+                                                    Authentication authentication, HttpServletRequest request) {
+        Object activeValue = requestBody.get("active");
+        if (activeValue == null) {
+            return new GlobalResponseHandler().handleResponse(
+                    "Field 'active' is required", HttpStatus.BAD_REQUEST, request);
+        }
+
+        List<Long> ids = null;
+        RoleEnum role = null;
+        Long teamId = null;
+        int active;
+        try {
+            active = Integer.parseInt(activeValue.toString());
+            if (requestBody.get("ids") instanceof List<?> rawIds) {
+                ids = rawIds.stream().map(id -> Long.valueOf(id.toString())).toList();
+            }
+            if (requestBody.get("role") != null) {
+                role = RoleEnum.valueOf(requestBody.get("role").toString().toUpperCase());
+            }
+            if (requestBody.get("teamId") != null) {
+                teamId = Long.valueOf(requestBody.get("teamId").toString());
+            }
+        } catch (IllegalArgumentException e) {
+            return new GlobalResponseHandler().handleResponse(
+                    "Invalid value: " + e.getMessage(), HttpStatus.BAD_REQUEST, request);
+        }
+
+        // Sin ningún filtro se cambiarían todas las cuentas
+        if (ids == null && role == null && teamId == null) {
+            return new GlobalResponseHandler().handleResponse(
+                    "At least one of 'ids', 'role' or 'teamId' is required", HttpStatus.BAD_REQUEST, request);
+        }
+
+        // Igual que en la importación: un ADMIN solo puede cambiar cuentas de estudiantes
+        boolean superAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_SUPER_ADMIN".equals(authority.getAuthority()));
+        if (!superAdmin) {
+            if (role != null && role != RoleEnum.USER) {
+                return new GlobalResponseHandler().handleResponse(
+                        "Only a super admin can change the status of role " + role, HttpStatus.FORBIDDEN, request);
+            }
+            role = RoleEnum.USER;
+        }
+
+        long updated = userActivationService.setActive(active, ids, role, teamId);
+        return new GlobalResponseHandler().handleResponse(
+                "User active status updated successfully", Map.of("updated", updated), HttpStatus.OK, request);
+    }
+
     @GetMapping("/current")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getCurrentUser(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        User user = authenticatedUserService.loadUser(authentication);
         return ResponseEntity.ok(Map.of(
                 "id", user.getId(),
                 "name", user.getName(),
@@ -262,12 +338,19 @@ public class UserRestController {
         ));
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            HttpServletRequest request) {
+        List<UserSearchHit> hits = userSearchIndex.search(q, Math.min(Math.max(limit, 1), 100));
+        return new GlobalResponseHandler().handleResponse("Users retrieved successfully", hits, HttpStatus.OK, request);
+    }
+
     @GetMapping("/teachers")
     public ResponseEntity<?> getAllTeachers() {
-        List<User> teachers = userRepository.findAll().stream()
-                .filter(user -> user.getRole().getName() == RoleEnum.ADMIN) // Comparar con RoleEnum.ADMIN
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(teachers);
+        return ResponseEntity.ok(teacherDirectory.getTeachers());
     }
 
 }
\ No newline at end of file
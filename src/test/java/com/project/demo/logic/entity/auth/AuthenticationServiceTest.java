@@ -0,0 +1,101 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class AuthenticationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private AuthenticationService authenticationService;
+
+    private User storedUser;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        authenticationService = new AuthenticationService(userRepository, passwordEncoder);
+
+        storedUser = new User();
+        storedUser.setId(1L);
+        storedUser.setEmail("student@mindmat.com");
+        storedUser.setPassword("$2a$10$hash");
+    }
+
+    @Test
+    public void testLoginRunsASingleUserQuery() {
+        when(userRepository.findByEmail("student@mindmat.com")).thenReturn(Optional.of(storedUser));
+        when(passwordEncoder.matches("secret", "$2a$10$hash")).thenReturn(true);
+
+        User authenticated = authenticationService.authenticate(credentials("student@mindmat.com", "secret"));
+
+        // El mismo usuario cargado se usa para el token y la respuesta
+        assertSame(storedUser, authenticated);
+        verify(userRepository, times(1)).findByEmail("student@mindmat.com");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    public void testWrongPasswordIsRejectedAfterOneQuery() {
+        when(userRepository.findByEmail("student@mindmat.com")).thenReturn(Optional.of(storedUser));
+        when(passwordEncoder.matches("wrong", "$2a$10$hash")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.authenticate(credentials("student@mindmat.com", "wrong")));
+
+        verify(userRepository, times(1)).findByEmail("student@mindmat.com");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    public void testOutdatedHashIsRehashedOnLogin() {
+        when(userRepository.findByEmail("student@mindmat.com")).thenReturn(Optional.of(storedUser));
+        when(passwordEncoder.matches("secret", "$2a$10$hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$hash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("$2a$12$newhash");
+
+        authenticationService.authenticate(credentials("student@mindmat.com", "secret"));
+
+        verify(userRepository, times(1)).findByEmail("student@mindmat.com");
+        verify(userRepository, times(1)).save(storedUser);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    public void testInactiveUserCannotLogIn() {
+        storedUser.setActive(0);
+        when(userRepository.findByEmail("student@mindmat.com")).thenReturn(Optional.of(storedUser));
+        when(passwordEncoder.matches("secret", "$2a$10$hash")).thenReturn(true);
+
+        // DisabledException es un AccountStatusException: el manejador global responde 403
+        assertThrows(DisabledException.class,
+                () -> authenticationService.authenticate(credentials("student@mindmat.com", "secret")));
+
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    private static User credentials(String email, String password) {
+        User input = new User();
+        input.setEmail(email);
+        input.setPassword(password);
+        return input;
+    }
+}
@@ -0,0 +1,122 @@
+package com.project.demo.logic.entity.http;
+
+import com.project.demo.logic.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaginationTest {
+
+    private final AtomicInteger counts = new AtomicInteger();
+    private final AtomicInteger pageQueries = new AtomicInteger();
+
+    @Test
+    public void testCursorRoundTrip() {
+        for (long id : new long[]{1L, 42L, Long.MAX_VALUE}) {
+            assertEquals(id, Pagination.decodeCursor(Pagination.encodeCursor(id)));
+        }
+        // Cursor vacío: primera página
+        assertEquals(0L, Pagination.decodeCursor(""));
+    }
+
+    @Test
+    public void testInvalidCursorIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> Pagination.decodeCursor("not a cursor!"));
+        String notANumber = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("abc".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(BadRequestException.class, () -> Pagination.decodeCursor(notANumber));
+        assertThrows(BadRequestException.class, () -> fetch(1, 10, "%%%", null, new Meta("GET", "/users")));
+    }
+
+    @Test
+    public void testSeekPageWithMoreRowsReturnsNextCursor() {
+        Meta meta = new Meta("GET", "/users");
+
+        List<Long> rows = fetch(1, 3, "", null, meta);
+
+        assertEquals(List.of(1L, 2L, 3L), rows);
+        assertTrue(meta.getHasNext());
+        assertEquals(3L, Pagination.decodeCursor(meta.getNextCursor()));
+
+        rows = fetch(1, 3, meta.getNextCursor(), null, new Meta("GET", "/users"));
+        assertEquals(List.of(4L, 5L, 6L), rows);
+    }
+
+    @Test
+    public void testLastSeekPageHasNoNextCursor() {
+        Meta meta = new Meta("GET", "/users");
+
+        List<Long> rows = fetch(1, 5, Pagination.encodeCursor(7L), null, meta);
+
+        assertEquals(List.of(8L, 9L, 10L), rows);
+        assertFalse(meta.getHasNext());
+        assertNull(meta.getNextCursor());
+    }
+
+    @Test
+    public void testSeekPageDoesNotCountUnlessAsked() {
+        fetch(1, 3, "", null, new Meta("GET", "/users"));
+        assertEquals(0, counts.get());
+
+        Meta meta = new Meta("GET", "/users");
+        fetch(1, 3, "", true, meta);
+        assertEquals(1, counts.get());
+        assertEquals(10, meta.getTotalElements());
+        assertEquals(4, meta.getTotalPages());
+    }
+
+    @Test
+    public void testOffsetPageCountsByDefault() {
+        Meta meta = new Meta("GET", "/users");
+
+        List<Long> rows = fetch(2, 4, null, null, meta);
+
+        assertEquals(List.of(5L, 6L, 7L, 8L), rows);
+        assertEquals(1, pageQueries.get());
+        assertEquals(10, meta.getTotalElements());
+        assertEquals(3, meta.getTotalPages());
+    }
+
+    // Simula una tabla con ids 1..10
+    private List<Long> fetch(int page, int size, String cursor, Boolean count, Meta meta) {
+        List<Long> table = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            table.add(id);
+        }
+        Function<Pageable, Page<Long>> pageQuery = pageable -> {
+            pageQueries.incrementAndGet();
+            return new PageImpl<>(slice(table, pageable), pageable, table.size());
+        };
+        Function<Pageable, Slice<Long>> sliceQuery = pageable -> {
+            List<Long> content = slice(table, pageable);
+            return new SliceImpl<>(content, pageable, pageable.getOffset() + content.size() < table.size());
+        };
+        BiFunction<Long, Pageable, List<Long>> seekQuery = (after, pageable) -> table.stream()
+                .filter(id -> id > after)
+                .limit(pageable.getPageSize())
+                .toList();
+        return Pagination.fetch(page, size, cursor, count, meta, pageQuery, sliceQuery, seekQuery,
+                () -> {
+                    counts.incrementAndGet();
+                    return table.size();
+                }, Long::longValue);
+    }
+
+    private static List<Long> slice(List<Long> table, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), table.size());
+        return table.subList(from, Math.min(from + pageable.getPageSize(), table.size()));
+    }
+}
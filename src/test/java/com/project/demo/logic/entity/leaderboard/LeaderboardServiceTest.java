@@ -0,0 +1,73 @@
+package com.project.demo.logic.entity.leaderboard;
+
+import com.project.demo.logic.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+public class LeaderboardServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        leaderboardService = new LeaderboardService(jdbcTemplate, 1, 1000, 100, 1000, 60000);
+    }
+
+    @Test
+    public void testGlobalBoardAddsOnlyTheImprovement() {
+        ready();
+        leaderboardService.record(1, 10, 1, 60);
+        leaderboardService.record(1, 10, 2, 50);
+        leaderboardService.record(1, 10, 3, 70);
+        // Peor que el mejor actual: no suma
+        leaderboardService.record(1, 10, 2, 10);
+        // Mismas estrellas en menos tiempo: cambia el tablero del juego pero no el global
+        leaderboardService.record(1, 10, 3, 40);
+        leaderboardService.record(1, 20, 2, 30);
+        leaderboardService.record(2, 10, 4, 90);
+
+        List<LeaderboardEntry> global = leaderboardService.top(null, 10);
+        assertEquals(1, global.get(0).getUserId());
+        assertEquals(5, global.get(0).getStars());
+        assertEquals(2, global.get(1).getUserId());
+        assertEquals(4, global.get(1).getStars());
+
+        List<LeaderboardEntry> game = leaderboardService.around(10L, 1, 0);
+        assertEquals(3, game.get(0).getStars());
+        assertEquals(40, game.get(0).getTimeTakenSeconds());
+        assertEquals(2, game.get(0).getRank());
+    }
+
+    @Test
+    public void testReadsFailUntilRebuildSucceeds() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenThrow(new IllegalStateException("down"));
+        leaderboardService.rebuild();
+
+        assertThrows(ServiceUnavailableException.class, () -> leaderboardService.top(null, 10));
+        assertEquals(1, leaderboardService.stats().get("failedRebuilds"));
+
+        ready();
+        assertEquals(List.of(), leaderboardService.top(null, 10));
+    }
+
+    private void ready() {
+        doReturn(0L).when(jdbcTemplate).queryForObject(anyString(), eq(Long.class));
+        leaderboardService.rebuild();
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.demo.logic.entity.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LeaderboardTest {
+
+    @Test
+    public void testStarsTieIsBrokenByTimeThenUserId() {
+        Leaderboard board = new Leaderboard(true);
+        board.offer(4, 3, 50);
+        board.offer(2, 3, 30);
+        board.offer(1, 3, 30);
+        board.offer(3, 2, 10);
+
+        List<LeaderboardEntry> top = board.top(10);
+
+        assertEquals(List.of(1L, 2L, 4L, 3L), top.stream().map(LeaderboardEntry::getUserId).toList());
+        assertEquals(1, top.get(0).getRank());
+        assertEquals(30, top.get(0).getTimeTakenSeconds());
+    }
+
+    @Test
+    public void testOfferKeepsTheBetterEntry() {
+        Leaderboard board = new Leaderboard(true);
+        assertEquals(-1, board.offer(1, 2, 40));
+        // Peor o igual: no cambia nada
+        assertEquals(Long.MIN_VALUE, board.offer(1, 1, 10));
+        assertEquals(Long.MIN_VALUE, board.offer(1, 2, 40));
+        // Mismas estrellas en menos tiempo sí mejora
+        assertEquals(2, board.offer(1, 2, 35));
+        assertEquals(1, board.size());
+        assertEquals(35, board.top(1).get(0).getTimeTakenSeconds());
+    }
+
+    @Test
+    public void testAroundAtBothEndsOfTheBoard() {
+        Leaderboard board = new Leaderboard(true);
+        for (long userId = 1; userId <= 10; userId++) {
+            board.offer(userId, 20 - userId, 0);
+        }
+
+        List<LeaderboardEntry> first = board.around(1, 3);
+        assertEquals(List.of(1L, 2L, 3L, 4L), first.stream().map(LeaderboardEntry::getUserId).toList());
+        assertEquals(1, first.get(0).getRank());
+
+        List<LeaderboardEntry> last = board.around(10, 3);
+        assertEquals(List.of(7L, 8L, 9L, 10L), last.stream().map(LeaderboardEntry::getUserId).toList());
+        assertEquals(10, last.get(3).getRank());
+
+        List<LeaderboardEntry> middle = board.around(5, 1);
+        assertEquals(List.of(4L, 5L, 6L), middle.stream().map(LeaderboardEntry::getUserId).toList());
+
+        assertTrue(board.around(99, 3).isEmpty());
+    }
+}
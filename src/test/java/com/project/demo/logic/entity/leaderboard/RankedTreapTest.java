@@ -0,0 +1,113 @@
+package com.project.demo.logic.entity.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RankedTreapTest {
+
+    // Mismo orden que el treap: score descendente, tiebreak y userId ascendentes
+    private static final Comparator<long[]> ORDER = Comparator
+            .<long[]>comparingLong(e -> -e[0])
+            .thenComparingLong(e -> e[1])
+            .thenComparingLong(e -> e[2]);
+
+    @Test
+    public void testMatchesSortedListOverRandomOperations() {
+        Random random = new Random(7);
+        RankedTreap treap = new RankedTreap();
+        Map<Long, long[]> byUser = new HashMap<>();
+        List<long[]> oracle = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            long userId = random.nextInt(500);
+            long[] existing = byUser.get(userId);
+            if (existing != null && random.nextInt(3) == 0) {
+                treap.delete(existing[0], existing[1], userId);
+                byUser.remove(userId);
+                oracle.removeIf(e -> e[2] == userId);
+            } else if (existing == null) {
+                // Rango chico de puntajes y tiempos para forzar empates
+                long[] entry = {random.nextInt(10), random.nextInt(5), userId};
+                treap.insert(entry[0], entry[1], entry[2]);
+                byUser.put(userId, entry);
+                oracle.add(entry);
+            }
+            oracle.sort(ORDER);
+
+            assertEquals(oracle.size(), treap.size());
+            long[] probe = {random.nextInt(12) - 1, random.nextInt(6), random.nextInt(520)};
+            assertEquals(expectedRank(oracle, probe), treap.rank(probe[0], probe[1], probe[2]));
+            if (step % 50 == 0) {
+                int from = random.nextInt(oracle.size() + 2);
+                int count = random.nextInt(20);
+                assertRange(oracle, treap, from, count);
+            }
+        }
+        assertRange(oracle, treap, 0, oracle.size());
+    }
+
+    @Test
+    public void testTiesAreBrokenByTiebreakThenUserId() {
+        RankedTreap treap = new RankedTreap();
+        treap.insert(3, 40, 9);
+        treap.insert(3, 20, 5);
+        treap.insert(3, 20, 2);
+        treap.insert(5, 90, 7);
+
+        List<Long> order = new ArrayList<>();
+        treap.range(0, 10, (rank, userId, score, tiebreak) -> order.add(userId));
+
+        assertEquals(List.of(7L, 2L, 5L, 9L), order);
+        assertEquals(2, treap.rank(3, 20, 5));
+    }
+
+    @Test
+    public void testDeleteRemovesOnlyTheGivenKey() {
+        RankedTreap treap = new RankedTreap();
+        treap.insert(3, 20, 1);
+        treap.insert(3, 20, 2);
+        treap.insert(3, 21, 1);
+
+        treap.delete(3, 20, 1);
+
+        List<long[]> left = new ArrayList<>();
+        treap.range(0, 10, (rank, userId, score, tiebreak) -> left.add(new long[]{score, tiebreak, userId}));
+        assertEquals(2, left.size());
+        assertEquals(2, left.get(0)[2]);
+        assertEquals(21, left.get(1)[1]);
+    }
+
+    private static int expectedRank(List<long[]> oracle, long[] probe) {
+        int rank = 0;
+        for (long[] entry : oracle) {
+            if (ORDER.compare(entry, probe) < 0) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+
+    private static void assertRange(List<long[]> oracle, RankedTreap treap, int from, int count) {
+        List<long[]> visited = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+        treap.range(from, count, (rank, userId, score, tiebreak) -> {
+            ranks.add(rank);
+            visited.add(new long[]{score, tiebreak, userId});
+        });
+        int end = Math.min(oracle.size(), from + count);
+        int expected = Math.max(0, end - from);
+        assertEquals(expected, visited.size());
+        for (int i = 0; i < expected; i++) {
+            assertEquals(from + i, ranks.get(i));
+            assertEquals(oracle.get(from + i)[2], visited.get(i)[2]);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.demo.logic.entity.mail_outbox;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testBatchIsDeliveredAndRemovedFromOutbox() throws Exception {
+        List<MailOutbox> due = List.of(
+                outbox(1L, "ana@mindmat.com"),
+                outbox(2L, "luis@mindmat.com")
+        );
+        when(mailOutboxRepository.findDue(any(Date.class), any(Pageable.class))).thenReturn(due);
+
+        dispatcher(ServerSetupTest.SMTP.getPort()).dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Recuperación de contraseña", received[0].getSubject());
+        verify(mailOutboxRepository, times(1)).deleteAll(due);
+        verify(mailOutboxRepository, never()).save(any(MailOutbox.class));
+        // Una transacción para tomar el lote y otra para registrar el resultado
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    public void testClaimLeasesTheBatchBeforeSending() {
+        MailOutbox mail = outbox(1L, "ana@mindmat.com");
+        when(mailOutboxRepository.findDue(any(Date.class), any(Pageable.class))).thenReturn(List.of(mail));
+
+        long before = System.currentTimeMillis();
+        dispatcher(ServerSetupTest.SMTP.getPort()).dispatch();
+
+        verify(mailOutboxRepository, times(1)).saveAll(List.of(mail));
+        assertTrue(mail.getNextAttemptAt().getTime() >= before + 300000);
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    public void testUnreachableServerReschedulesWithBackoff() {
+        MailOutbox mail = outbox(1L, "ana@mindmat.com");
+        when(mailOutboxRepository.findDue(any(Date.class), any(Pageable.class))).thenReturn(List.of(mail));
+
+        long before = System.currentTimeMillis();
+        // Puerto sin servidor SMTP: la conexión falla para todo el lote
+        dispatcher(ServerSetupTest.SMTP.getPort() + 1000).dispatch();
+
+        ArgumentCaptor<MailOutbox> saved = ArgumentCaptor.forClass(MailOutbox.class);
+        verify(mailOutboxRepository, times(1)).save(saved.capture());
+        assertEquals(1, saved.getValue().getAttempts());
+        assertNotNull(saved.getValue().getLastError());
+        assertTrue(saved.getValue().getNextAttemptAt().getTime() >= before + 1000);
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    private MailOutboxDispatcher dispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return new MailOutboxDispatcher(mailOutboxRepository, mailSender, transactionManager,
+                50, 1000, 60000, 5, 300000);
+    }
+
+    private static MailOutbox outbox(Long id, String recipient) {
+        MailOutbox mail = new MailOutbox(recipient, "Recuperación de contraseña", "Enlace de prueba");
+        mail.setId(id);
+        return mail;
+    }
+}
@@ -0,0 +1,136 @@
+package com.project.demo.logic.entity.score;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScoreJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testUnreleasedEntriesAreRecoveredAfterACrash() throws Exception {
+        Path path = directory.resolve("scores.journal");
+        try (ScoreJournal journal = new ScoreJournal(path, true, 4096)) {
+            assertTrue(journal.recover().isEmpty());
+            for (int i = 0; i < 3; i++) {
+                journal.sync(journal.append(score("a" + i)));
+            }
+        }
+
+        try (ScoreJournal journal = new ScoreJournal(path, true, 4096)) {
+            List<PendingScore> recovered = journal.recover();
+            assertEquals(List.of("a0", "a1", "a2"), ids(recovered));
+            assertEquals(0, recovered.get(0).segment);
+            assertEquals(7, recovered.get(0).gameId);
+            assertEquals(3, recovered.get(0).stars);
+            // Lo recuperado sigue pendiente hasta que se escriba a la base de datos
+            assertEquals(1, journal.pendingSegments());
+        }
+    }
+
+    @Test
+    public void testSegmentRollsOverAndDrainedSegmentsAreDeleted() throws Exception {
+        Path path = directory.resolve("scores.journal");
+        List<PendingScore> appended = new ArrayList<>();
+        try (ScoreJournal journal = new ScoreJournal(path, false, 4096)) {
+            journal.recover();
+            while (appended.isEmpty() || appended.get(appended.size() - 1).segment == 0) {
+                PendingScore score = score("b" + appended.size());
+                journal.append(score);
+                appended.add(score);
+            }
+            assertEquals(2, journal.pendingSegments());
+            assertTrue(Files.exists(directory.resolve("scores.journal.0")));
+
+            long firstSegment = appended.stream().filter(score -> score.segment == 0).count();
+            journal.release(0, firstSegment);
+
+            assertEquals(1, journal.pendingSegments());
+            assertFalse(Files.exists(directory.resolve("scores.journal.0")));
+            assertTrue(Files.exists(directory.resolve("scores.journal.1")));
+        }
+
+        // Solo se reproduce el segmento que seguía pendiente
+        try (ScoreJournal journal = new ScoreJournal(path, false, 4096)) {
+            List<PendingScore> recovered = journal.recover();
+            assertEquals(1, recovered.size());
+            assertEquals(appended.get(appended.size() - 1).ingestId, recovered.get(0).ingestId);
+        }
+    }
+
+    @Test
+    public void testReleasingTheActiveSegmentStartsANewOne() throws Exception {
+        Path path = directory.resolve("scores.journal");
+        try (ScoreJournal journal = new ScoreJournal(path, false, 4096)) {
+            journal.recover();
+            journal.append(score("c0"));
+            journal.append(score("c1"));
+
+            journal.release(0, 2);
+
+            assertEquals(0, journal.pendingSegments());
+            assertFalse(Files.exists(directory.resolve("scores.journal.0")));
+            PendingScore next = score("c2");
+            journal.append(next);
+            assertEquals(1, next.segment);
+        }
+    }
+
+    @Test
+    public void testLegacySingleFileJournalIsMigrated() throws Exception {
+        Path path = directory.resolve("scores.journal");
+        Files.writeString(path, score("d0").toJournalLine() + score("d1").toJournalLine(), StandardCharsets.UTF_8);
+
+        try (ScoreJournal journal = new ScoreJournal(path, false, 4096)) {
+            List<PendingScore> recovered = journal.recover();
+
+            assertEquals(List.of("d0", "d1"), ids(recovered));
+            assertEquals(-1, recovered.get(0).segment);
+            assertFalse(Files.exists(path));
+
+            journal.release(-1, 2);
+            assertFalse(Files.exists(directory.resolve("scores.journal.-1")));
+            assertEquals(0, journal.pendingSegments());
+        }
+    }
+
+    @Test
+    public void testTornAndCorruptLinesAreSkipped() throws Exception {
+        Path path = directory.resolve("scores.journal");
+        String lines = score("e0").toJournalLine()
+                // Ocho campos pero con números ilegibles
+                + "e1\t7\tx\t1700000000000\t5\t1\t30\t3\n"
+                + score("e2").toJournalLine()
+                // Escritura interrumpida
+                + "e3\t7\t42\t17000";
+        Files.writeString(directory.resolve("scores.journal.4"), lines, StandardCharsets.UTF_8);
+
+        try (ScoreJournal journal = new ScoreJournal(path, false, 4096)) {
+            List<PendingScore> recovered = journal.recover();
+
+            assertEquals(List.of("e0", "e2"), ids(recovered));
+            PendingScore next = score("e4");
+            journal.append(next);
+            assertEquals(5, next.segment);
+        }
+    }
+
+    private static PendingScore score(String ingestId) {
+        return new PendingScore(ingestId, 7, 42, 1700000000000L, 5, 1, 30, 3);
+    }
+
+    private static List<String> ids(List<PendingScore> scores) {
+        return scores.stream().map(score -> score.ingestId).toList();
+    }
+}
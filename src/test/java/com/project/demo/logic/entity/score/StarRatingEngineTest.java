@@ -0,0 +1,72 @@
+package com.project.demo.logic.entity.score;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StarRatingEngineTest {
+
+    @Test
+    public void testDefaultRuleCountsReachedThresholds() {
+        StarRatingEngine engine = new StarRatingEngine("50/75/90", "");
+
+        assertEquals(0, engine.rate(1L, 4, 6, 30));
+        assertEquals(1, engine.rate(1L, 5, 5, 30));
+        assertEquals(2, engine.rate(1L, 3, 1, 30));
+        assertEquals(3, engine.rate(1L, 9, 1, 30));
+        assertEquals(3, engine.rate(1L, 10, 0, 30));
+    }
+
+    @Test
+    public void testNoAnswersGiveNoStars() {
+        StarRatingEngine engine = new StarRatingEngine("0/75/90", "");
+
+        assertEquals(0, engine.rate(1L, 0, 0, 0));
+    }
+
+    @Test
+    public void testPerGameRuleOverridesDefault() {
+        StarRatingEngine engine = new StarRatingEngine("50/75/90", "3=60/80/95;7=30/50/70/90");
+
+        assertEquals(1, engine.rate(3L, 7, 3, 10));
+        assertEquals(3, engine.rate(1L, 9, 1, 10));
+        assertEquals(4, engine.rate(7L, 9, 1, 10));
+        assertEquals(1, engine.rate(99_999L, 5, 5, 10));
+    }
+
+    @Test
+    public void testTimeLimitCostsOneStar() {
+        StarRatingEngine engine = new StarRatingEngine("50/75/90", "2=50/75/90@60");
+
+        assertEquals(3, engine.rate(2L, 10, 0, 60));
+        assertEquals(2, engine.rate(2L, 10, 0, 61));
+        assertEquals(0, engine.rate(2L, 1, 9, 600));
+    }
+
+    @Test
+    public void testReloadReplacesRules() {
+        StarRatingEngine engine = new StarRatingEngine("50/75/90", "");
+        engine.reload("10/20/30", "");
+
+        assertEquals(3, engine.rate(1L, 3, 7, 0));
+    }
+
+    @Test
+    public void testWithoutRulesEngineIsUnconfigured() {
+        StarRatingEngine engine = new StarRatingEngine("", "");
+
+        assertFalse(engine.isConfigured());
+        assertThrows(IllegalStateException.class, () -> engine.rate(1L, 5, 5, 10));
+        assertThrows(IllegalArgumentException.class, () -> new StarRatingEngine("", "3=50/75/90"));
+    }
+
+    @Test
+    public void testInvalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new StarRatingEngine("90/50", ""));
+        assertThrows(IllegalArgumentException.class, () -> new StarRatingEngine("50/75/90", "x=50"));
+        assertThrows(IllegalArgumentException.class, () -> new StarRatingEngine("50/75/90", "4:50/75"));
+        assertThrows(IllegalArgumentException.class, () -> new StarRatingEngine("50/75/90", "70000=50"));
+    }
+}
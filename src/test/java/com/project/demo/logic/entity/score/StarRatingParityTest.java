@@ -0,0 +1,85 @@
+package com.project.demo.logic.entity.score;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link StarRatingEngine} with the {@code insertScore} procedure over a grid of
+ * answers and times. Every call runs inside a transaction that is rolled back. The rules that
+ * pass here are the ones to deploy as {@code score.stars.default-rule} / {@code score.stars.rules}.
+ *
+ * <pre>
+ * STAR_PARITY_JDBC_URL=jdbc:mysql://localhost:3306/mindmat STAR_PARITY_USER=root STAR_PARITY_PASSWORD=...
+ * STAR_PARITY_GAME_IDS=1,2,3 STAR_PARITY_USER_ID=1
+ * STAR_PARITY_DEFAULT_RULE=50/75/90 STAR_PARITY_RULES="3=60/80/95@120" ./gradlew test --tests '*StarRatingParityTest'
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "STAR_PARITY_JDBC_URL", matches = ".+")
+public class StarRatingParityTest {
+
+    @Test
+    public void testEngineMatchesProcedure() throws Exception {
+        StarRatingEngine engine = new StarRatingEngine(
+                env("STAR_PARITY_DEFAULT_RULE", ""), env("STAR_PARITY_RULES", ""));
+        assertTrue(engine.isConfigured(), "STAR_PARITY_DEFAULT_RULE is required");
+        long userId = Long.parseLong(env("STAR_PARITY_USER_ID", "1"));
+        List<String> mismatches = new ArrayList<>();
+
+        try (Connection connection = DriverManager.getConnection(System.getenv("STAR_PARITY_JDBC_URL"),
+                env("STAR_PARITY_USER", "root"), env("STAR_PARITY_PASSWORD", ""))) {
+            connection.setAutoCommit(false);
+            try (CallableStatement call = connection.prepareCall("{call insertScore(?, ?, ?, ?, ?, ?)}")) {
+                for (String game : env("STAR_PARITY_GAME_IDS", "1").split(",")) {
+                    long gameId = Long.parseLong(game.trim());
+                    for (int right = 0; right <= 10; right++) {
+                        for (int wrong = 0; wrong <= 10; wrong++) {
+                            for (int seconds : new int[]{0, 30, 60, 120, 300, 900}) {
+                                int expected = procedureStars(call, gameId, userId, right, wrong, seconds);
+                                int actual = engine.rate(gameId, right, wrong, seconds);
+                                if (expected != actual) {
+                                    mismatches.add("game=" + gameId + " right=" + right + " wrong=" + wrong
+                                            + " seconds=" + seconds + " procedure=" + expected + " engine=" + actual);
+                                }
+                            }
+                        }
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+
+        assertTrue(mismatches.isEmpty(), mismatches.size() + " mismatches, first: "
+                + mismatches.subList(0, Math.min(10, mismatches.size())));
+    }
+
+    private int procedureStars(CallableStatement call, long gameId, long userId, int right, int wrong, int seconds)
+            throws Exception {
+        call.setLong(1, gameId);
+        call.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+        call.setInt(3, right);
+        call.setTime(4, Time.valueOf(LocalTime.ofSecondOfDay(seconds)));
+        call.setLong(5, userId);
+        call.setInt(6, wrong);
+        try (ResultSet result = call.executeQuery()) {
+            return result.next() ? result.getInt(1) : 0;
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.demo.logic.entity.user_import;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CsvReaderTest {
+
+    @Test
+    public void testPlainRecords() throws Exception {
+        CsvReader reader = reader("name,email\nAna,ana@mindmat.com\n");
+
+        assertEquals(List.of("name", "email"), reader.next());
+        assertEquals(List.of("Ana", "ana@mindmat.com"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testQuotedCommaStaysInField() throws Exception {
+        CsvReader reader = reader("\"Pérez, Ana\",ana@mindmat.com\n");
+
+        assertEquals(List.of("Pérez, Ana", "ana@mindmat.com"), reader.next());
+    }
+
+    @Test
+    public void testQuotedNewlineStaysInFieldAndCountsLines() throws Exception {
+        CsvReader reader = reader("\"line one\nline two\",x\nnext,y\n");
+
+        assertEquals(List.of("line one\nline two", "x"), reader.next());
+        assertEquals(1, reader.getRecordLine());
+        assertEquals(List.of("next", "y"), reader.next());
+        assertEquals(3, reader.getRecordLine());
+    }
+
+    @Test
+    public void testEscapedQuotes() throws Exception {
+        CsvReader reader = reader("\"she said \"\"hi\"\"\",\"\"\"\"\n");
+
+        assertEquals(List.of("she said \"hi\"", "\""), reader.next());
+    }
+
+    @Test
+    public void testCrlfRecordEnds() throws Exception {
+        CsvReader reader = reader("a,b\r\nc,d\r\n\r\ne,\r\n");
+
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("c", "d"), reader.next());
+        assertEquals(List.of("e", ""), reader.next());
+        assertEquals(4, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testLastRecordWithoutLineBreak() throws Exception {
+        CsvReader reader = reader("a,b");
+
+        assertEquals(List.of("a", "b"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testUnterminatedQuoteFails() throws Exception {
+        CsvReader reader = reader("ok,1\n\"never closed,2\nmore\n");
+
+        assertEquals(List.of("ok", "1"), reader.next());
+        IOException error = assertThrows(IOException.class, reader::next);
+        assertTrue(error.getMessage().contains("line 2"));
+    }
+
+    @Test
+    public void testOverlongRecordFails() {
+        CsvReader reader = reader("x".repeat(70_000) + "\n");
+
+        IOException error = assertThrows(IOException.class, reader::next);
+        assertTrue(error.getMessage().contains("too long"));
+    }
+
+    private static CsvReader reader(String content) {
+        return new CsvReader(new StringReader(content));
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.demo.rest.game;
 
 import com.project.demo.logic.entity.game.Game;
+import com.project.demo.logic.entity.game.GameCatalog;
 import com.project.demo.logic.entity.game.GameRepository;
 import com.project.demo.rest.game.GameRestController;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +25,9 @@ public class GameRestControllerTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Mock
+    private GameCatalog gameCatalog;
+
     @InjectMocks
     private GameRestController gameRestController;
 
@@ -71,6 +75,8 @@ public class GameRestControllerTest {
 
         // Verifica que el repositorio fue llamado una vez con el nuevo juego
         verify(gameRepository, times(1)).save(any(Game.class));
+        // Verifica que el catálogo en memoria se recargó
+        verify(gameCatalog, times(1)).refresh();
     }
 
 }
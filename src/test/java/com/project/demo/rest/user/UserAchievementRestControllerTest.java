@@ -74,7 +74,7 @@ public class UserAchievementRestControllerTest {
         HttpServletRequest request = mock(HttpServletRequest.class);
         when(request.getRequestURL()).thenReturn(new StringBuffer("http://localhost/achievements"));
 
-        ResponseEntity<?> response = userAchievementRestController.getAll(1, 10, request);
+        ResponseEntity<?> response = userAchievementRestController.getAll(1, 10, null, true, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());